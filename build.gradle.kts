@@ -2,11 +2,18 @@ plugins {
     id("java")
     id("application")
     id("com.github.johnrengelman.shadow") version "8.1.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.nexters"
 version = "1.0-SNAPSHOT"
 
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
 repositories {
     mavenCentral()
 }
@@ -22,6 +29,7 @@ dependencies {
     implementation("com.fasterxml.jackson.core:jackson-core:2.16.1")
     implementation("com.fasterxml.jackson.core:jackson-databind:2.16.1")
     implementation("com.fasterxml.jackson.core:jackson-annotations:2.16.1")
+    implementation("com.fasterxml.jackson.module:jackson-module-blackbird:2.16.1")
     
     // Environment variables
     implementation("io.github.cdimascio:dotenv-java:3.0.0")
@@ -32,6 +40,21 @@ dependencies {
 
 tasks.test {
     useJUnitPlatform()
+    // GeminiApiClientTest runs against a local stub server, so shorten its timeouts and lift the free-tier quota
+    systemProperty("memecrawler.gemini.rpm", "60000")
+    systemProperty("memecrawler.gemini.tpm", "100000000")
+    systemProperty("memecrawler.gemini.callTimeoutMs", "1000")
+    systemProperty("memecrawler.gemini.deadlineMs", "2500")
+    systemProperty("memecrawler.gemini.hedgeMinDelayMs", "100")
+    systemProperty("memecrawler.gemini.circuitOpenMs", "1000")
+    systemProperty("memecrawler.gemini.retryDelayMs", "50")
+    environment("GEMINI_API_KEY", "test")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
 }
 
 application {
@@ -0,0 +1,41 @@
+package org.nexters.memecrawler.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+final class BenchmarkFixtures {
+    static final String BASE_URI = "https://namu.wiki/w/%EB%AC%B4%EC%95%BC%ED%98%B8";
+    static final String RAW_DATA_FILE = System.getProperty("memecrawler.rawData", "raw_meme_data.json");
+
+    private static final String FIXTURE_RESOURCE = "/fixtures/namuwiki_meme_page.html";
+
+    private BenchmarkFixtures() {
+    }
+
+    // -Dmemecrawler.fixtures=<dir> 로 실제 크롤링에서 저장한 HTML(예: http_cache/*.body)을 추가할 수 있다
+    static List<String> loadHtmlPages() throws IOException {
+        List<String> pages = new ArrayList<>();
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream(FIXTURE_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + FIXTURE_RESOURCE);
+            }
+            pages.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        String fixturesDir = System.getProperty("memecrawler.fixtures");
+        if (fixturesDir != null) {
+            try (Stream<Path> files = Files.list(Path.of(fixturesDir))) {
+                for (Path file : files.filter(f -> f.toString().endsWith(".html") || f.toString().endsWith(".body")).toList()) {
+                    pages.add(Files.readString(file));
+                }
+            }
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,46 @@
+package org.nexters.memecrawler.benchmark;
+
+import org.nexters.memecrawler.analyzer.CsvGenerator;
+import org.nexters.memecrawler.analyzer.MemeAnalysis;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvGenerationBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int rowCount;
+
+    private List<MemeAnalysis> rows;
+
+    @Setup
+    public void setup() {
+        rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new MemeAnalysis(
+                "밈 " + i,
+                "2010년 방송에서 \"무야호\"라고 외친 장면, 이후 유튜브에서 재발견 #" + i,
+                "예상치 못한 행운에 기뻐할 때 사용합니다.",
+                String.valueOf(2000 + i % 25),
+                i % 3 == 0 ? "https://i.namu.wiki/i/" + i + ".webp" : null,
+                List.of("#무한도전", "#무야호", "#인터넷밈")));
+        }
+    }
+
+    @Benchmark
+    public int writeCsv() throws IOException {
+        try (Writer writer = new BufferedWriter(Writer.nullWriter(), 1 << 16)) {
+            return CsvGenerator.writeCsv(writer, rows);
+        }
+    }
+}
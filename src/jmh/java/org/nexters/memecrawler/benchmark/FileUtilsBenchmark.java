@@ -0,0 +1,65 @@
+package org.nexters.memecrawler.benchmark;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import org.nexters.memecrawler.model.RawMemePage;
+import org.nexters.memecrawler.util.FileUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileUtilsBenchmark {
+    private List<RawMemePage> rawRecords;
+    private List<String> titles;
+    private Path outputFile;
+
+    @Setup
+    public void setup() throws IOException {
+        rawRecords = FileUtils.loadJsonListFromFile(BenchmarkFixtures.RAW_DATA_FILE);
+        titles = rawRecords.stream()
+            .map(RawMemePage::title)
+            .toList();
+        outputFile = Files.createTempFile("raw_meme_data", ".json");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    public void sanitizeFileName(Blackhole blackhole) {
+        for (String title : titles) {
+            blackhole.consume(FileUtils.sanitizeFileName(title));
+        }
+    }
+
+    @Benchmark
+    public void saveJsonToFile() throws IOException {
+        FileUtils.saveJsonToFile(rawRecords, outputFile.toString());
+    }
+
+    @Benchmark
+    public List<RawMemePage> loadJsonListFromFile() throws IOException {
+        return FileUtils.loadJsonListFromFile(BenchmarkFixtures.RAW_DATA_FILE);
+    }
+
+    @Benchmark
+    public void readJsonRecords(Blackhole blackhole) throws IOException {
+        try (MappingIterator<RawMemePage> records = FileUtils.readJsonRecords(BenchmarkFixtures.RAW_DATA_FILE)) {
+            while (records.hasNextValue()) {
+                blackhole.consume(records.nextValue());
+            }
+        }
+    }
+}
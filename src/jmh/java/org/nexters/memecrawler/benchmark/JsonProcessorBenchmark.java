@@ -0,0 +1,49 @@
+package org.nexters.memecrawler.benchmark;
+
+import org.nexters.memecrawler.analyzer.JsonProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonProcessorBenchmark {
+    private static final String ANALYSIS_JSON = """
+        {
+          "title": "무야호",
+          "origin": "2010년 MBC 무한도전 알래스카 편에서 한 어르신이 '무한도전'을 '무야호'로 잘못 외친 장면에서 시작됐습니다. {원본 자막} 참고.",
+          "usageContext": "예상치 못한 행운이나 큰 성취감에 벅차올라 터져 나오는 순수한 환희를 표현할 때 사용합니다.",
+          "trendPeriod": "2020",
+          "imgUrl": null,
+          "hashtags": "[\\"#무한도전\\", \\"#무야호\\", \\"#인터넷밈\\"]",
+        }""";
+
+    @Param({"plain", "fenced", "trailingCommentary"})
+    public String responseShape;
+
+    private String response;
+
+    @Setup
+    public void setup() {
+        response = switch (responseShape) {
+            case "fenced" -> "```json\n" + ANALYSIS_JSON + "\n```";
+            case "trailingCommentary" -> "다음은 분석 결과입니다.\n" + ANALYSIS_JSON
+                + "\n\n참고: 일부 필드는 {추정} 값입니다. }";
+            default -> ANALYSIS_JSON;
+        };
+    }
+
+    @Benchmark
+    public Object parseJsonFromResponse() {
+        return JsonProcessor.parseJsonFromResponse(response);
+    }
+
+    @Benchmark
+    public String extractJsonFromResponse() {
+        return JsonProcessor.extractJsonFromResponse(response);
+    }
+}
@@ -0,0 +1,62 @@
+package org.nexters.memecrawler.benchmark;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.nexters.memecrawler.CleanTextCrawler;
+import org.nexters.memecrawler.crawler.PageExtractor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageExtractionBenchmark {
+    private List<String> htmlPages;
+    private List<Document> documents;
+    private CleanTextCrawler cleanTextCrawler;
+
+    @Setup
+    public void setup() throws IOException {
+        htmlPages = BenchmarkFixtures.loadHtmlPages();
+        documents = htmlPages.stream()
+            .map(html -> Jsoup.parse(html, BenchmarkFixtures.BASE_URI))
+            .toList();
+        cleanTextCrawler = new CleanTextCrawler();
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String html : htmlPages) {
+            blackhole.consume(Jsoup.parse(html, BenchmarkFixtures.BASE_URI));
+        }
+    }
+
+    @Benchmark
+    public void parseAndExtract(Blackhole blackhole) {
+        for (String html : htmlPages) {
+            Document doc = Jsoup.parse(html, BenchmarkFixtures.BASE_URI);
+            blackhole.consume(PageExtractor.extract(doc, BenchmarkFixtures.BASE_URI, doc.title()));
+        }
+    }
+
+    @Benchmark
+    public void extract(Blackhole blackhole) {
+        for (Document doc : documents) {
+            blackhole.consume(PageExtractor.extract(doc, BenchmarkFixtures.BASE_URI, doc.title()));
+        }
+    }
+
+    @Benchmark
+    public void buildCleanText(Blackhole blackhole) {
+        for (Document doc : documents) {
+            blackhole.consume(cleanTextCrawler.buildCleanText(doc, BenchmarkFixtures.BASE_URI, doc.title()));
+        }
+    }
+}
@@ -1,43 +1,137 @@
 package org.nexters.memecrawler;
 
+import org.nexters.memecrawler.analyzer.AnalysisCache;
+import org.nexters.memecrawler.analyzer.AnalysisResult;
+import org.nexters.memecrawler.analyzer.BatchPacker;
+import org.nexters.memecrawler.analyzer.ContentReducer;
 import org.nexters.memecrawler.analyzer.CsvGenerator;
 import org.nexters.memecrawler.analyzer.GeminiApiClient;
-import org.nexters.memecrawler.analyzer.JsonProcessor;
+import org.nexters.memecrawler.analyzer.MemeAnalysis;
+import org.nexters.memecrawler.analyzer.NearDuplicateIndex;
+import org.nexters.memecrawler.analyzer.QuotaScheduler;
+import org.nexters.memecrawler.analyzer.RunManifest;
+import org.nexters.memecrawler.analyzer.TokenEstimator;
 import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.metrics.Metrics;
+import org.nexters.memecrawler.metrics.MetricsExporter;
+import org.nexters.memecrawler.search.SearchHit;
+import org.nexters.memecrawler.search.SearchIndex;
 import org.nexters.memecrawler.util.FileUtils;
+import org.nexters.memecrawler.util.HashUtils;
+import org.nexters.memecrawler.util.Log;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ForkJoinPool;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
-public class AiMemeAnalyzer {
-    private static final ConcurrentLinkedQueue<String> jsonResults = new ConcurrentLinkedQueue<>();
-    private static final AtomicInteger successCount = new AtomicInteger(0);
-    private static final AtomicInteger failureCount = new AtomicInteger(0);
-    private static final AtomicInteger apiRetryCount = new AtomicInteger(0);
-    
+public class AiMemeAnalyzer implements AutoCloseable {
+    private final AnalysisCache analysisCache;
     private final GeminiApiClient geminiClient;
+    private final SearchIndex searchIndex;
 
-    public AiMemeAnalyzer() {
-        this.geminiClient = new GeminiApiClient(apiRetryCount);
+    public AiMemeAnalyzer() throws IOException {
+        this.analysisCache = new AnalysisCache(CrawlerConfig.ANALYSIS_CACHE_FILE, CrawlerConfig.ANALYSIS_CACHE_MEMORY_ENTRIES);
+        this.geminiClient = new GeminiApiClient(analysisCache);
+        this.searchIndex = SearchIndex.open();
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         if (args.length > 0 && "regenerate-csv".equals(args[0])) {
             CsvGenerator.regenerateCsvFromExistingJson();
             return;
         }
+        if (args.length > 0 && "search".equals(args[0])) {
+            searchMemes(String.join(" ", Arrays.copyOfRange(args, 1, args.length)));
+            return;
+        }
+        if (args.length > 0 && "reindex-search".equals(args[0])) {
+            rebuildSearchIndex();
+            return;
+        }
         
-        AiMemeAnalyzer analyzer = new AiMemeAnalyzer();
-        analyzer.processAllMemeFiles();
+        MetricsExporter metricsExporter = MetricsExporter.startConfigured();
+        try (metricsExporter;
+             AiMemeAnalyzer analyzer = new AiMemeAnalyzer()) {
+            analyzer.processAllMemeFiles(args.length > 0 && "batch".equals(args[0]));
+        }
+    }
+
+    private static void searchMemes(String query) throws IOException {
+        if (query.isBlank()) {
+            System.err.println("사용법: search <검색어>");
+            return;
+        }
+        try (SearchIndex index = SearchIndex.open()) {
+            long start = System.nanoTime();
+            List<SearchHit> hits = index.search(query, CrawlerConfig.SEARCH_RESULT_LIMIT);
+            long elapsedMicros = (System.nanoTime() - start) / 1000;
+
+            System.out.printf("\"%s\" 검색 결과 %d건 (문서 %d개, %.1fms)%n",
+                query, hits.size(), index.documentCount(), elapsedMicros / 1000.0);
+            for (int i = 0; i < hits.size(); i++) {
+                SearchHit hit = hits.get(i);
+                System.out.printf("%2d. [%.2f] %s - %s%n", i + 1, hit.score(), hit.title(), hit.key());
+            }
+        }
+    }
+
+    // 색인이 없던 시절에 만들어진 산출물을 한 번에 색인한다
+    private static void rebuildSearchIndex() throws IOException {
+        int indexed = 0;
+        try (SearchIndex index = SearchIndex.open()) {
+            Path cleanTextDir = Paths.get(CrawlerConfig.CLEAN_TEXT_DIR);
+            if (Files.exists(cleanTextDir)) {
+                for (Path path : listFiles(cleanTextDir, ".txt")) {
+                    String fileName = path.getFileName().toString();
+                    index.add(path.toString(), fileName.substring(0, fileName.length() - 4), Files.readString(path));
+                    indexed++;
+                }
+            }
+            Path analyzedDir = Paths.get(CrawlerConfig.ANALYZED_DATA_DIR);
+            if (Files.exists(analyzedDir)) {
+                for (Path path : listFiles(analyzedDir, ".json")) {
+                    try {
+                        indexAnalysis(index, path.toString(), MemeAnalysis.read(path));
+                        indexed++;
+                    } catch (IOException e) {
+                        Log.warn("❌ 색인 실패: %s - %s", path.getFileName(), e.getMessage());
+                    }
+                }
+            }
+        }
+        System.out.println("검색 색인 재구성 완료: " + indexed + "개 문서");
+    }
+
+    private static void indexAnalysis(SearchIndex index, String outputFile, MemeAnalysis analysis) throws IOException {
+        String text = String.join("\n", Objects.requireNonNullElse(analysis.title(), ""),
+            Objects.requireNonNullElse(analysis.origin(), ""),
+            Objects.requireNonNullElse(analysis.usageContext(), ""),
+            Objects.requireNonNullElse(analysis.trendPeriod(), ""),
+            String.join(" ", analysis.hashtags()));
+        String title = analysis.title();
+        index.add(outputFile, title != null ? title : Paths.get(outputFile).getFileName().toString(), text);
     }
 
     public void processAllMemeFiles() {
+        processAllMemeFiles(false);
+    }
+
+    public void processAllMemeFiles(boolean batchMode) {
         try {
             Path cleanTextDir = Paths.get(CrawlerConfig.CLEAN_TEXT_DIR);
 
@@ -46,94 +140,341 @@ public class AiMemeAnalyzer {
                 return;
             }
 
-            AtomicInteger counter = new AtomicInteger(0);
-            AtomicInteger total = new AtomicInteger(0);
+            long startNanos = System.nanoTime();
+            List<Path> inputFiles = listFiles(cleanTextDir, ".txt");
+            try (RunManifest manifest = new RunManifest(CrawlerConfig.ANALYSIS_MANIFEST_FILE)) {
+                NearDuplicateIndex<String> duplicates = new NearDuplicateIndex<>();
+                List<MemeInput> pending = collectPendingInputs(inputFiles, manifest, duplicates);
+                System.out.println("총 " + inputFiles.size() + "개의 txt 파일을 발견했습니다. "
+                    + "(이전 실행에서 완료 " + (inputFiles.size() - pending.size()) + "개 건너뜀, "
+                    + "동시 요청 " + CrawlerConfig.MAX_IN_FLIGHT_API_REQUESTS + "개, "
+                    + "할당량 " + CrawlerConfig.GEMINI_REQUESTS_PER_MINUTE + " RPM / "
+                    + CrawlerConfig.GEMINI_TOKENS_PER_MINUTE + " TPM)");
 
-            total.set(countTxtFiles(cleanTextDir));
-            System.out.println("총 " + total.get() + "개의 txt 파일을 발견했습니다. (동시 스레드 " + CrawlerConfig.THREAD_POOL_SIZE + "개)");
+                // 이미 분석된 밈과 거의 같은 본문은 API를 호출하지 않고 기존 결과에 연결한다.
+                // 이번 실행에서 처음 분석할 원본을 따라가는 중복은 원본이 끝난 뒤 연결한다
+                List<MemeInput> originals = new ArrayList<>();
+                List<MemeInput> followers = new ArrayList<>();
+                for (MemeInput input : pending) {
+                    String original = duplicates.findDuplicate(input.signature());
+                    if (original == null) {
+                        duplicates.add(input.signature(), input.path().toString());
+                        originals.add(input);
+                    } else if (!linkDuplicate(input, original, manifest)) {
+                        followers.add(input);
+                    }
+                }
 
-            processFilesInParallel(cleanTextDir, counter, total);
-            
-            printFinalStatistics(total.get());
-            CsvGenerator.generateCsvFromJsonQueue(jsonResults);
+                // CSV가 없거나 이전 실행이 중간에 죽었으면 실행 기록의 성공 결과로 먼저 채운 뒤 이번 실행 결과를 이어 쓴다
+                if (!Files.exists(Paths.get(CrawlerConfig.CSV_OUTPUT_FILE)) || manifest.wasUncleanlyClosed()) {
+                    CsvGenerator.rebuildCsv(CrawlerConfig.CSV_OUTPUT_FILE, manifest.successfulOutputs());
+                }
+                try (Writer csvWriter = CsvGenerator.openCsvAppender(CrawlerConfig.CSV_OUTPUT_FILE)) {
+                    runAnalysis(originals, new RunContext(manifest, csvWriter, new AtomicInteger(0), originals.size()), batchMode);
+
+                    List<MemeInput> unlinked = new ArrayList<>();
+                    for (MemeInput input : followers) {
+                        String original = duplicates.findDuplicate(input.signature());
+                        if (original == null || !linkDuplicate(input, original, manifest)) {
+                            unlinked.add(input);
+                        }
+                    }
+                    // 원본 분석이 실패한 중복은 직접 분석한다
+                    runAnalysis(unlinked, new RunContext(manifest, csvWriter, new AtomicInteger(0), unlinked.size()), batchMode);
+                }
+
+                if (manifest.hasSupersededSuccess()) {
+                    int rowCount = CsvGenerator.rebuildCsv(CrawlerConfig.CSV_OUTPUT_FILE, manifest.successfulOutputs());
+                    System.out.println("변경된 결과를 반영해 CSV를 다시 정리했습니다. (" + rowCount + "행)");
+                }
+                printFinalStatistics(pending.size(), startNanos);
+                System.out.println("CSV 파일 갱신 완료: " + CrawlerConfig.CSV_OUTPUT_FILE
+                    + " (누적 " + manifest.successCount() + "개)");
+            }
 
         } catch (Exception e) {
             System.err.println("전체 처리 오류: " + e.getMessage());
         }
     }
 
-    private int countTxtFiles(Path cleanTextDir) throws IOException {
-        try (Stream<Path> paths = Files.walk(cleanTextDir)) {
-            return (int) paths
+    private static List<Path> listFiles(Path directory, String extension) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths
                 .filter(Files::isRegularFile)
-                .filter(path -> path.toString().endsWith(".txt"))
-                .count();
+                .filter(path -> path.toString().endsWith(extension))
+                .toList();
         }
     }
 
-    private void processFilesInParallel(Path cleanTextDir, AtomicInteger counter, AtomicInteger total) {
-        ForkJoinPool customThreadPool = new ForkJoinPool(CrawlerConfig.THREAD_POOL_SIZE);
-        try {
-            customThreadPool.submit(() -> {
-                try (Stream<Path> paths = Files.walk(cleanTextDir)) {
-                    paths
-                        .filter(Files::isRegularFile)
-                        .filter(path -> path.toString().endsWith(".txt"))
-                        .parallel()
-                        .forEach(path -> processIndividualFile(path, counter, total));
-                } catch (Exception e) {
-                    System.err.println("스트림 처리 오류: " + e.getMessage());
+    private List<MemeInput> collectPendingInputs(List<Path> inputFiles, RunManifest manifest,
+                                                 NearDuplicateIndex<String> duplicates) {
+        List<MemeInput> pending = new ArrayList<>();
+        for (Path path : inputFiles) {
+            try {
+                String content = Files.readString(path);
+                String hash = HashUtils.sha256Hex(content);
+                long[] signature = NearDuplicateIndex.signature(content);
+                if (manifest.isComplete(path.toString(), hash)) {
+                    duplicates.add(signature, path.toString());
+                } else {
+                    pending.add(new MemeInput(path, hash, ContentReducer.reduce(content), signature,
+                        QuotaScheduler.estimateTokens(Files.size(path))));
                 }
-            }).get();
-        } catch (Exception e) {
-            System.err.println("스레드 풀 오류: " + e.getMessage());
-        } finally {
-            customThreadPool.shutdown();
+            } catch (IOException e) {
+                Metrics.ANALYSIS_FAILURE.increment();
+                Log.warn("❌ 읽기 실패: %s - %s", path.getFileName(), e.getMessage());
+            }
+        }
+        return pending;
+    }
+
+    private boolean linkDuplicate(MemeInput input, String original, RunManifest manifest) {
+        if (manifest.outputOf(original) == null) {
+            return false;
+        }
+        manifest.recordDuplicate(input.path().toString(), input.hash(), original);
+        Metrics.ANALYSIS_DUPLICATES.increment();
+        Log.item("🔗 중복 연결: %s → %s", input.path().getFileName(), Paths.get(original).getFileName());
+        return true;
+    }
+
+    private void runAnalysis(List<MemeInput> inputs, RunContext context, boolean batchMode) {
+        if (batchMode) {
+            processFilesInBatches(inputs, context);
+        } else {
+            processFilesInParallel(inputs, context);
+        }
+    }
+
+    private void processFilesInParallel(List<MemeInput> inputs, RunContext context) {
+        QuotaScheduler.shared().runLongestFirst(inputs, MemeInput::estimatedTokens,
+            CrawlerConfig.MAX_IN_FLIGHT_API_REQUESTS, input -> processIndividualFile(input, context));
+    }
+
+    private void processFilesInBatches(List<MemeInput> inputs, RunContext context) {
+        Map<String, MemeInput> inputsById = new HashMap<>();
+        List<List<GeminiApiClient.BatchItem>> batches = new ArrayList<>();
+        BatchPacker<GeminiApiClient.BatchItem> packer = new BatchPacker<>(
+            CrawlerConfig.BATCH_CONTENT_TOKEN_BUDGET, CrawlerConfig.MAX_BATCH_SIZE,
+            item -> TokenEstimator.estimate(item.content()),
+            batches::add);
+
+        // 길이가 비슷한 입력끼리 묶이도록 긴 것부터 채운다
+        List<MemeInput> ordered = new ArrayList<>(inputs);
+        ordered.sort(Comparator.comparingInt(MemeInput::estimatedTokens).reversed());
+        for (MemeInput input : ordered) {
+            inputsById.put(input.path().toString(), input);
+            packer.add(new GeminiApiClient.BatchItem(input.path().toString(), input.content()));
         }
+        packer.flush();
+
+        QuotaScheduler.shared().runLongestFirst(batches,
+            batch -> batch.stream().mapToInt(item -> inputsById.get(item.id()).estimatedTokens()).sum(),
+            CrawlerConfig.MAX_IN_FLIGHT_API_REQUESTS, batch -> processBatch(batch, inputsById, context));
+    }
+
+    private CompletableFuture<Void> processBatch(List<GeminiApiClient.BatchItem> batch, Map<String, MemeInput> inputsById,
+                                                 RunContext context) {
+        return geminiClient.submitBatch(batch)
+            .thenAccept(results -> {
+                for (GeminiApiClient.BatchItem item : batch) {
+                    handleResult(inputsById.get(item.id()), results.get(item.id()), context);
+                }
+            })
+            .exceptionally(error -> {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                for (GeminiApiClient.BatchItem item : batch) {
+                    recordFailure(inputsById.get(item.id()), context.counter().incrementAndGet(), context, cause);
+                }
+                return null;
+            });
     }
 
-    private void processIndividualFile(Path path, AtomicInteger counter, AtomicInteger total) {
-        int current = counter.incrementAndGet();
-        System.out.println("[" + current + "/" + total.get() + "] 분석 시작: " + path.getFileName() + 
-                          " (Thread: " + Thread.currentThread().getName() + ")");
+    private CompletableFuture<Void> processIndividualFile(MemeInput input, RunContext context) {
+        return geminiClient.submit(input.content())
+            .thenAccept(result -> handleResult(input, result, context))
+            .exceptionally(error -> {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                recordFailure(input, context.counter().incrementAndGet(), context, cause);
+                return null;
+            });
+    }
 
+    private void handleResult(MemeInput input, AnalysisResult result, RunContext context) {
+        int current = context.counter().incrementAndGet();
         try {
-            String content = Files.readString(path);
-            String rawResult = geminiClient.analyzeMeme(content);
-            String jsonResult = JsonProcessor.extractJsonFromResponse(rawResult);
+            // fallback 응답은 저장하지 않고 실패로 남겨 다음 실행에서 다시 분석한다
+            if (result.fallback()) {
+                throw new IllegalStateException("API 호출이 모두 실패했습니다");
+            }
+            MemeAnalysis analysis = result.analysis();
+            if (analysis == null) {
+                throw new IllegalStateException("스키마에 맞는 분석 결과가 없습니다");
+            }
 
-            jsonResults.offer(jsonResult);
-            saveJsonAnalysis(path.getFileName().toString(), jsonResult);
+            String outputFile = saveJsonAnalysis(input.path().getFileName().toString(), analysis);
+            indexAnalysis(searchIndex, outputFile, analysis);
+            // 실행 기록이 먼저다. CSV 행만 남고 기록이 없으면 다음 실행이 다시 분석해 같은 행을 또 쓴다.
+            // 기록 뒤 CSV를 쓰기 전에 죽으면 다음 실행이 실행 기록으로 CSV를 다시 만든다
+            context.manifest().recordSuccess(input.path().toString(), input.hash(), outputFile);
+            synchronized (context.csvWriter()) {
+                CsvGenerator.appendRow(context.csvWriter(), analysis);
+            }
             
-            successCount.incrementAndGet();
-            System.out.printf("✅ [%d/%d] 완료: %s (성공:%d, 실패:%d, 재시도:%d)%n", 
-                current, total.get(), path.getFileName(), 
-                successCount.get(), failureCount.get(), apiRetryCount.get());
+            Metrics.ANALYSIS_SUCCESS.increment();
+            Log.item("✅ [%s] 완료: %s (성공:%d, 실패:%d, 재시도:%d)",
+                context.progress(current), input.path().getFileName(),
+                Metrics.ANALYSIS_SUCCESS.sum(), Metrics.ANALYSIS_FAILURE.sum(), Metrics.GEMINI_RETRIES.sum());
 
         } catch (Exception e) {
-            failureCount.incrementAndGet();
-            System.err.printf("❌ [%d/%d] 실패: %s - %s (성공:%d, 실패:%d, 재시도:%d)%n", 
-                current, total.get(), path.getFileName(), e.getMessage(),
-                successCount.get(), failureCount.get(), apiRetryCount.get());
+            recordFailure(input, current, context, e);
         }
     }
 
-    private synchronized void saveJsonAnalysis(String originalFileName, String jsonResult) throws IOException {
+    private void recordFailure(MemeInput input, int current, RunContext context, Throwable error) {
+        Metrics.ANALYSIS_FAILURE.increment();
+        context.manifest().recordFailure(input.path().toString(), input.hash(), error.getMessage());
+        Log.warn("❌ [%s] 실패: %s - %s", context.progress(current), input.path().getFileName(), error.getMessage());
+    }
+
+    private synchronized String saveJsonAnalysis(String originalFileName, MemeAnalysis analysis) throws IOException {
         FileUtils.ensureDirectoryExists(CrawlerConfig.ANALYZED_DATA_DIR);
 
         String newFileName = originalFileName.replace(".txt", ".json");
         String outputFile = CrawlerConfig.ANALYZED_DATA_DIR + "/" + newFileName;
 
-        FileUtils.saveTextToFile(jsonResult, outputFile);
+        FileUtils.saveJsonToFile(analysis, outputFile);
+        return outputFile;
     }
 
-    private void printFinalStatistics(int total) {
+    private void printFinalStatistics(int total, long startNanos) {
         System.out.println("\n=== 분석 완료 ===");
         System.out.printf("총 처리: %d개 파일%n", total);
-        System.out.printf("✅ 성공: %d개 (%.1f%%)%n", successCount.get(), 
-            (double)successCount.get() / total * 100);
-        System.out.printf("❌ 실패: %d개 (%.1f%%)%n", failureCount.get(), 
-            (double)failureCount.get() / total * 100);
-        System.out.printf("🔄 총 재시도 횟수: %d회%n", apiRetryCount.get());
+        long successCount = Metrics.ANALYSIS_SUCCESS.sum();
+        long failureCount = Metrics.ANALYSIS_FAILURE.sum();
+        int denominator = Math.max(total, 1);
+        System.out.printf("✅ 성공: %d개 (%.1f%%)%n", successCount, 
+            (double)successCount / denominator * 100);
+        System.out.printf("❌ 실패: %d개 (%.1f%%)%n", failureCount, 
+            (double)failureCount / denominator * 100);
+        System.out.printf("🔗 중복 연결: %d개 (API 호출 생략)%n", Metrics.ANALYSIS_DUPLICATES.sum());
+        System.out.printf("🔄 총 재시도 횟수: %d회%n", Metrics.GEMINI_RETRIES.sum());
+        System.out.printf("💾 캐시 적중: %d개, 미적중: %d개%n", analysisCache.hitCount(), analysisCache.missCount());
+        System.out.printf("🔢 토큰 사용량: 입력 %d, 출력 %d%n", Metrics.PROMPT_TOKENS.sum(), Metrics.RESPONSE_TOKENS.sum());
+        System.out.printf("⏱️ API 지연시간: p50 %dms, p95 %dms, p99 %dms%n",
+            Metrics.GEMINI_LATENCY.percentileMicros(0.5) / 1000,
+            Metrics.GEMINI_LATENCY.percentileMicros(0.95) / 1000,
+            Metrics.GEMINI_LATENCY.percentileMicros(0.99) / 1000);
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        System.out.printf("⌛ 소요 시간: %d분 %d초%n", elapsedSeconds / 60, elapsedSeconds % 60);
+    }
+
+    record MemeInput(Path path, String hash, String content, long[] signature, int estimatedTokens) {
+    }
+
+    // total이 0이면 전체 개수를 모르는 스트리밍 실행
+    record RunContext(RunManifest manifest, Writer csvWriter, AtomicInteger counter, int total) {
+        String progress(int current) {
+            return total > 0 ? current + "/" + total : String.valueOf(current);
+        }
+    }
+
+    SearchIndex searchIndex() {
+        return searchIndex;
+    }
+
+    AnalysisSession openSession() throws IOException {
+        return new AnalysisSession();
+    }
+
+    // 정제 텍스트가 하나씩 도착하는 파이프라인용 분석 세션. 실행 기록, CSV, 중복 색인을 세션 동안 열어 둔다
+    final class AnalysisSession implements AutoCloseable {
+        private final RunManifest manifest;
+        private final Writer csvWriter;
+        private final RunContext context;
+        private final NearDuplicateIndex<String> duplicates = new NearDuplicateIndex<>();
+        // 이번 세션에서 분석 중인 원본. 결과가 기록되면 완료된다
+        private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+        private AnalysisSession() throws IOException {
+            this.manifest = new RunManifest(CrawlerConfig.ANALYSIS_MANIFEST_FILE);
+            Path cleanTextDir = Paths.get(CrawlerConfig.CLEAN_TEXT_DIR);
+            if (Files.exists(cleanTextDir)) {
+                collectPendingInputs(listFiles(cleanTextDir, ".txt"), manifest, duplicates);
+            }
+            if (!Files.exists(Paths.get(CrawlerConfig.CSV_OUTPUT_FILE)) || manifest.wasUncleanlyClosed()) {
+                CsvGenerator.rebuildCsv(CrawlerConfig.CSV_OUTPUT_FILE, manifest.successfulOutputs());
+            }
+            this.csvWriter = CsvGenerator.openCsvAppender(CrawlerConfig.CSV_OUTPUT_FILE);
+            this.context = new RunContext(manifest, csvWriter, new AtomicInteger(0), 0);
+        }
+
+        // 이미 분석됐거나 기존 결과에 연결된 입력이면 null
+        MemeInput prepare(Path cleanTextFile) throws IOException {
+            String content = Files.readString(cleanTextFile);
+            String hash = HashUtils.sha256Hex(content);
+            if (manifest.isComplete(cleanTextFile.toString(), hash)) {
+                return null;
+            }
+
+            MemeInput input = new MemeInput(cleanTextFile, hash, ContentReducer.reduce(content),
+                NearDuplicateIndex.signature(content), QuotaScheduler.estimateTokens(Files.size(cleanTextFile)));
+            String original = duplicates.findDuplicate(input.signature());
+            if (original == null) {
+                duplicates.add(input.signature(), cleanTextFile.toString());
+                inFlight.put(cleanTextFile.toString(), new CompletableFuture<>());
+                return input;
+            }
+            return linkDuplicate(input, original, manifest) ? null : input;
+        }
+
+        // 결과가 null이면 분석 중이던 원본에 연결된 것이다. 호출한 쪽은 결과와 상관없이 record를 불러야 한다
+        CompletableFuture<AnalysisResult> analyze(MemeInput input) {
+            String self = input.path().toString();
+            String original = duplicates.findDuplicate(input.signature());
+            if (original == null || original.equals(self)) {
+                return geminiClient.submit(input.content());
+            }
+            CompletableFuture<Void> originalRun = inFlight.get(original);
+            if (originalRun != null) {
+                return originalRun.handle((ignored, error) -> null)
+                    .thenCompose(ignored -> linkDuplicate(input, original, manifest)
+                        ? CompletableFuture.completedFuture(null)
+                        : geminiClient.submit(input.content()));
+            }
+            // record는 실행 기록을 남긴 뒤 inFlight에서 빼므로, 여기서 놓쳤다면 원본 결과는 이미 기록돼 있다
+            return linkDuplicate(input, original, manifest)
+                ? CompletableFuture.completedFuture(null)
+                : geminiClient.submit(input.content());
+        }
+
+        void record(MemeInput input, AnalysisResult result, Throwable error) {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                recordFailure(input, context.counter().incrementAndGet(), context, cause);
+            } else if (result != null) {
+                handleResult(input, result, context);
+            }
+            CompletableFuture<Void> run = inFlight.remove(input.path().toString());
+            if (run != null) {
+                run.complete(null);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            csvWriter.close();
+            if (manifest.hasSupersededSuccess()) {
+                CsvGenerator.rebuildCsv(CrawlerConfig.CSV_OUTPUT_FILE, manifest.successfulOutputs());
+            }
+            manifest.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        geminiClient.close();
+        analysisCache.close();
+        searchIndex.close();
     }
 }
\ No newline at end of file
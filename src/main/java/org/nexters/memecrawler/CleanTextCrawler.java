@@ -1,106 +1,150 @@
 package org.nexters.memecrawler;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
 import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.crawler.PageExtractor;
+import org.nexters.memecrawler.crawler.UrlCanonicalizer;
+import org.nexters.memecrawler.metrics.Metrics;
+import org.nexters.memecrawler.network.FetchEngine;
+import org.nexters.memecrawler.metrics.MetricsExporter;
+import org.nexters.memecrawler.model.RawMemePage;
+import org.nexters.memecrawler.search.SearchIndex;
 import org.nexters.memecrawler.util.FileUtils;
+import org.nexters.memecrawler.util.Log;
 import org.nexters.memecrawler.util.NetworkUtils;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CleanTextCrawler {
+    private final FetchEngine fetchEngine;
     private final NetworkUtils networkUtils;
 
     public CleanTextCrawler() {
-        this.networkUtils = new NetworkUtils();
+        this(FetchEngine.shared());
+    }
+
+    public CleanTextCrawler(FetchEngine fetchEngine) {
+        this.fetchEngine = fetchEngine;
+        this.networkUtils = new NetworkUtils(fetchEngine);
     }
 
     public void processRawMemeData(String inputJsonFile) throws IOException {
         System.out.println("Processing raw meme data from: " + inputJsonFile);
         
-        List<Map<String, Object>> rawMemeList = FileUtils.loadJsonListFromFile(inputJsonFile);
-        System.out.println("Found " + rawMemeList.size() + " memes to process");
-        
         FileUtils.ensureDirectoryExists(CrawlerConfig.CLEAN_TEXT_DIR);
         
-        for (int i = 0; i < rawMemeList.size(); i++) {
-            Map<String, Object> memeInfo = rawMemeList.get(i);
-            String url = (String) memeInfo.get("url");
-            String title = (String) memeInfo.get("title");
-            
-            if (url == null || title == null) {
-                System.err.println("Skipping meme with missing url or title: " + memeInfo);
-                continue;
-            }
-            
-            try {
-                System.out.println("Progress: " + (i + 1) + "/" + rawMemeList.size() + " - Processing: " + title);
-                
-                networkUtils.enforceRateLimit(CrawlerConfig.FAST_RATE_LIMIT_MS);
-                
-                String cleanText = crawlCleanText(url, title);
+        Semaphore pendingPages = new Semaphore(CrawlerConfig.MAX_PENDING_PAGES);
+        AtomicInteger completed = new AtomicInteger(0);
+        List<CompletableFuture<PageOutcome>> futures = new ArrayList<>();
+        // 별칭/리다이렉트 문서가 같은 최종 문서를 가리키면 한 번만 저장한다
+        Set<String> processedUrls = ConcurrentHashMap.newKeySet();
+        
+        try (MappingIterator<RawMemePage> records = FileUtils.readJsonRecords(inputJsonFile);
+             SearchIndex searchIndex = SearchIndex.open()) {
+            while (records.hasNextValue()) {
+                RawMemePage memeInfo = records.nextValue();
+                String url = memeInfo.url();
+                String title = memeInfo.title();
                 
-                String sanitizedTitle = FileUtils.sanitizeFileName(title);
-                String fileName = CrawlerConfig.CLEAN_TEXT_DIR + "/" + sanitizedTitle + ".txt";
+                if (url == null || title == null) {
+                    System.err.println("Skipping meme with missing url or title: " + url);
+                    continue;
+                }
                 
-                FileUtils.saveTextToFile(cleanText, fileName);
-                System.out.println("Saved to: " + fileName);
+                String requestUrl = Objects.requireNonNullElse(UrlCanonicalizer.canonicalize(url), url);
+                if (!processedUrls.add(requestUrl)) {
+                    Metrics.FETCH_DUPLICATES.increment();
+                    Log.item("Duplicate URL, skipped: %s (%s)", title, url);
+                    continue;
+                }
                 
-            } catch (Exception e) {
-                System.err.println("Error processing " + title + " (" + url + "): " + e.getMessage());
+                pendingPages.acquireUninterruptibly();
+                futures.add(fetchEngine.fetchPage(url)
+                    .thenApply(page -> {
+                        String finalUrl = UrlCanonicalizer.canonicalize(page.document().location());
+                        if (finalUrl != null && !finalUrl.equals(requestUrl) && !processedUrls.add(finalUrl)) {
+                            Metrics.FETCH_DUPLICATES.increment();
+                            return PageOutcome.DUPLICATE;
+                        }
+                        if (page.notModified() && Files.exists(cleanTextPathFor(title))) {
+                            return PageOutcome.UNCHANGED;
+                        }
+                        saveCleanText(buildCleanText(page.document(), url, title), title, searchIndex);
+                        return PageOutcome.SAVED;
+                    })
+                    .whenComplete((outcome, error) -> {
+                        pendingPages.release();
+                        int current = completed.incrementAndGet();
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                            System.err.println("Error processing " + title + " (" + url + "): " + cause.getMessage());
+                        } else if (outcome == PageOutcome.DUPLICATE) {
+                            Log.item("Progress: %d - Redirects to an already processed page, skipped: %s", current, title);
+                        } else if (outcome == PageOutcome.UNCHANGED) {
+                            Log.item("Progress: %d - Unchanged, skipped: %s", current, title);
+                        } else {
+                            Log.item("Progress: %d - Processed: %s", current, title);
+                        }
+                    }));
             }
+            
+            // 색인을 닫기 전에 모든 페이지 저장이 끝나야 한다
+            CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new))
+                .exceptionally(error -> null)
+                .join();
         }
         
         System.out.println("Processing completed!");
     }
 
-    public String crawlCleanText(String url, String originalTitle) throws IOException {
-        System.out.println("Crawling clean text from: " + url);
-        
-        Document doc = networkUtils.fetchDocument(url);
+    private enum PageOutcome {
+        SAVED, UNCHANGED, DUPLICATE
+    }
 
-        StringBuilder cleanText = new StringBuilder();
-        
-        // 제목
-        cleanText.append("제목: ").append(originalTitle).append("\n");
-        
-        // 출처
-        cleanText.append("출처: ").append(url).append("\n");
-        
-        // 크롤링 시간
-        cleanText.append("크롤링 시간: ").append(new Date()).append("\n");
-        cleanText.append("=" .repeat(80)).append("\n\n");
-        
-        // 페이지 제목
-        String pageTitle = doc.title();
-        if (pageTitle != null && !pageTitle.isEmpty()) {
-            cleanText.append("페이지 제목: ").append(pageTitle).append("\n\n");
-        }
+    private static Path cleanTextPathFor(String title) {
+        return Paths.get(CrawlerConfig.CLEAN_TEXT_DIR, FileUtils.sanitizeFileName(title) + ".txt");
+    }
+
+    private void saveCleanText(String cleanText, String title, SearchIndex searchIndex) {
+        String fileName = cleanTextPathFor(title).toString();
         
-        // 본문 내용만 추출
-        Element body = doc.body();
-        if (body != null) {
-            // 불필요한 요소들 제거
-            body.select("script, style, nav, header, footer, .advertisement, .ad, .wiki-nav, .wiki-category").remove();
-            
-            // 모든 텍스트 추출
-            String bodyText = body.text();
-            if (!bodyText.trim().isEmpty()) {
-                cleanText.append("본문 내용:\n");
-                cleanText.append(bodyText).append("\n");
-            }
+        try {
+            FileUtils.saveTextToFile(cleanText, fileName);
+            searchIndex.add(fileName, title, cleanText);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        Log.item("Saved to: %s", fileName);
+    }
+
+    public String crawlCleanText(String url, String originalTitle) throws IOException {
+        Log.item("Crawling clean text from: %s", url);
         
-        return cleanText.toString();
+        return buildCleanText(networkUtils.fetchDocument(url), url, originalTitle);
+    }
+
+    public String buildCleanText(Document doc, String url, String originalTitle) {
+        return PageExtractor.extract(doc, url, originalTitle).cleanText();
     }
 
     public static void main(String[] args) {
         CleanTextCrawler crawler = new CleanTextCrawler();
         
-        try {
-            System.out.println("Starting clean text crawling from raw_meme_data.json...");
-            crawler.processRawMemeData(CrawlerConfig.RAW_DATA_FILE);
+        MetricsExporter metricsExporter = MetricsExporter.startConfigured();
+        try (metricsExporter) {
+            System.out.println("Starting clean text crawling from raw meme data...");
+            crawler.processRawMemeData(FileUtils.resolveRawDataFile());
             System.out.println("Crawling completed!");
             
         } catch (Exception e) {
@@ -1,36 +1,43 @@
 package org.nexters.memecrawler;
 
-import org.nexters.memecrawler.crawler.BasicMemeCrawler;
 import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.crawler.BasicMemeCrawler;
+import org.nexters.memecrawler.crawler.SinglePassCrawler;
+import org.nexters.memecrawler.crawler.UrlFrontier;
+import org.nexters.memecrawler.metrics.MetricsExporter;
+import org.nexters.memecrawler.storage.DetailedDataStore;
 
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.Map;
-import java.util.ArrayList;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && "replay".equals(args[0])) {
+            replay();
+            return;
+        }
+        if (args.length > 0 && "export-detailed".equals(args[0])) {
+            exportDetailed();
+            return;
+        }
+        
+        // "fresh": 중단된 크롤을 이어 가지 않고 시드부터 새 세대를 시작한다
+        boolean fresh = args.length > 0 && "fresh".equals(args[0]);
         BasicMemeCrawler crawler = new BasicMemeCrawler();
         
-        try {
-            System.out.println("Starting MemeCrawler...");
+        MetricsExporter metricsExporter = MetricsExporter.startConfigured();
+        try (metricsExporter;
+             UrlFrontier frontier = UrlFrontier.open(Paths.get(CrawlerConfig.FRONTIER_STATE_FILE), fresh)) {
+            System.out.println(frontier.isNewGeneration()
+                ? "Starting MemeCrawler..."
+                : "Resuming MemeCrawler (" + frontier.seenCount() + " URLs already seen)...");
             
-            List<String> memeLinks = crawler.crawlMemeLinks();
+            List<String> memeLinks = crawler.crawlMemeLinks(frontier);
             
-            List<Map<String, Object>> rawDataList = new ArrayList<>();
             System.out.println("Starting to crawl " + memeLinks.size() + " meme pages...");
             
-            for (int i = 0; i < memeLinks.size(); i++) {
-                String link = memeLinks.get(i);
-                try {
-                    System.out.println("Progress: " + (i + 1) + "/" + memeLinks.size() + " - " + link);
-                    Map<String, Object> rawData = crawler.crawlRawMemeData(link);
-                    rawDataList.add(rawData);
-                } catch (Exception e) {
-                    System.err.println("Error crawling " + link + ": " + e.getMessage());
-                }
-            }
-            
-            crawler.saveRawDataToJson(rawDataList, CrawlerConfig.RAW_DATA_FILE);
+            int savedCount = new SinglePassCrawler().crawlAll(memeLinks, frontier);
+            System.out.println("Saved " + savedCount + "/" + memeLinks.size() + " pages");
             
             System.out.println("Crawling completed successfully!");
             System.out.println("Next step: Use Google Vertex AI to analyze and structure the data");
@@ -40,4 +47,30 @@ public class Main {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    // 셀렉터나 정제 규칙을 바꾼 뒤 사이트에 다시 요청하지 않고 보관된 응답으로 산출물을 다시 만든다
+    private static void replay() {
+        MetricsExporter metricsExporter = MetricsExporter.startConfigured();
+        try (metricsExporter) {
+            System.out.println("Replaying archived responses from " + CrawlerConfig.RESPONSE_ARCHIVE_DIR + "...");
+            long start = System.nanoTime();
+            int savedCount = new SinglePassCrawler().replayArchive();
+            System.out.printf("Re-extracted %d pages in %.1fs%n", savedCount, (System.nanoTime() - start) / 1e9);
+        } catch (Exception e) {
+            System.err.println("Error during replay: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // 세그먼트 저장소의 상세 데이터를 페이지별 JSON 파일로 풀어 쓴다
+    private static void exportDetailed() {
+        try (DetailedDataStore detailedStore = DetailedDataStore.open()) {
+            System.out.println("Exporting detailed data to " + CrawlerConfig.DETAILED_DATA_DIR + "...");
+            int exportedCount = detailedStore.exportJson(CrawlerConfig.DETAILED_DATA_DIR);
+            System.out.println("Exported " + exportedCount + " pages");
+        } catch (Exception e) {
+            System.err.println("Error during export: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.nexters.memecrawler;
+
+import org.nexters.memecrawler.analyzer.AnalysisResult;
+import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.crawler.BasicMemeCrawler;
+import org.nexters.memecrawler.crawler.SinglePassCrawler;
+import org.nexters.memecrawler.crawler.UrlFrontier;
+import org.nexters.memecrawler.metrics.Metrics;
+import org.nexters.memecrawler.metrics.MetricsExporter;
+import org.nexters.memecrawler.model.RawMemePage;
+import org.nexters.memecrawler.network.FetchEngine;
+import org.nexters.memecrawler.network.FetchedPage;
+import org.nexters.memecrawler.pipeline.BoundedQueue;
+import org.nexters.memecrawler.pipeline.Stage;
+import org.nexters.memecrawler.search.SearchIndex;
+import org.nexters.memecrawler.storage.DetailedDataStore;
+import org.nexters.memecrawler.util.FileUtils;
+import org.nexters.memecrawler.util.JsonLinesWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+// 링크 발견 → 페이지 수집 → 추출/정제 → 분석 → 기록을 유한 큐로 이어 한 프로세스에서 동시에 돌린다.
+// 첫 페이지가 정제되는 즉시 분석이 시작되고, 느린 단계의 큐가 차면 앞 단계가 기다린다.
+public class MemePipeline {
+    private final FetchEngine fetchEngine;
+
+    public MemePipeline() {
+        this(FetchEngine.shared());
+    }
+
+    public MemePipeline(FetchEngine fetchEngine) {
+        this.fetchEngine = fetchEngine;
+    }
+
+    public static void main(String[] args) {
+        MetricsExporter metricsExporter = MetricsExporter.startConfigured();
+        try (metricsExporter) {
+            new MemePipeline().run();
+        } catch (Exception e) {
+            System.err.println("파이프라인 오류: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public void run() throws Exception {
+        FileUtils.ensureDirectoryExists(CrawlerConfig.CLEAN_TEXT_DIR);
+        BasicMemeCrawler linkCrawler = new BasicMemeCrawler(fetchEngine);
+        SinglePassCrawler pageCrawler = new SinglePassCrawler(fetchEngine);
+
+        BoundedQueue<String> memeUrls = new BoundedQueue<>(CrawlerConfig.PIPELINE_QUEUE_CAPACITY, 1);
+        BoundedQueue<FetchedPage> pages = new BoundedQueue<>(CrawlerConfig.PIPELINE_QUEUE_CAPACITY,
+            CrawlerConfig.PIPELINE_FETCH_WORKERS);
+        BoundedQueue<Path> cleanTexts = new BoundedQueue<>(CrawlerConfig.PIPELINE_QUEUE_CAPACITY,
+            CrawlerConfig.PIPELINE_EXTRACT_WORKERS);
+        BoundedQueue<Analyzed> analyzed = new BoundedQueue<>(CrawlerConfig.PIPELINE_QUEUE_CAPACITY,
+            CrawlerConfig.PIPELINE_ANALYZE_WORKERS);
+
+        long start = System.nanoTime();
+        try (UrlFrontier frontier = UrlFrontier.open(Paths.get(CrawlerConfig.FRONTIER_STATE_FILE));
+             JsonLinesWriter<RawMemePage> rawWriter = frontier.isNewGeneration()
+                 ? FileUtils.openJsonLinesWriter(CrawlerConfig.RAW_DATA_FILE)
+                 : FileUtils.appendJsonLinesWriter(CrawlerConfig.RAW_DATA_FILE);
+             DetailedDataStore detailedStore = DetailedDataStore.open();
+             AiMemeAnalyzer analyzer = new AiMemeAnalyzer();
+             AiMemeAnalyzer.AnalysisSession session = analyzer.openSession()) {
+            // 색인 디렉터리는 한 인스턴스만 써야 하므로 분석기의 색인을 함께 쓴다
+            SearchIndex searchIndex = analyzer.searchIndex();
+
+            List<Stage> stages = List.of(
+                Stage.source("discover", memeUrls,
+                    emit -> linkCrawler.discoverMemeLinks(frontier, emit)),
+
+                Stage.start("fetch", CrawlerConfig.PIPELINE_FETCH_WORKERS, memeUrls, pages, String::valueOf,
+                    (url, emit) -> {
+                        FetchedPage page;
+                        try {
+                            page = FetchEngine.await(fetchEngine.fetchPage(url));
+                        } catch (IOException e) {
+                            if (FetchEngine.isPermanentFailure(e)) {
+                                frontier.markFailed(url);
+                            }
+                            throw e;
+                        }
+                        emit.accept(page);
+                    }),
+
+                Stage.start("extract", CrawlerConfig.PIPELINE_EXTRACT_WORKERS, pages, cleanTexts, FetchedPage::url,
+                    (page, emit) -> {
+                        emit.accept(pageCrawler.savePage(page, rawWriter, detailedStore, searchIndex));
+                        frontier.markDone(page.url());
+                    }),
+
+                Stage.start("analyze", CrawlerConfig.PIPELINE_ANALYZE_WORKERS, cleanTexts, analyzed, String::valueOf,
+                    (cleanText, emit) -> {
+                        AiMemeAnalyzer.MemeInput input = session.prepare(cleanText);
+                        if (input == null) {
+                            return;
+                        }
+                        // 실패도 기록 단계로 넘겨야 이 입력을 기다리는 중복이 풀린다
+                        try {
+                            emit.accept(new Analyzed(input, session.analyze(input).join(), null));
+                        } catch (CompletionException e) {
+                            emit.accept(new Analyzed(input, null, e.getCause()));
+                        }
+                    }),
+
+                Stage.sink("record", 1, analyzed, result -> String.valueOf(result.input().path()),
+                    result -> session.record(result.input(), result.result(), result.error())));
+
+            for (Stage stage : stages) {
+                stage.await();
+            }
+        }
+
+        System.out.println("\n=== 파이프라인 완료 ===");
+        System.out.printf("✅ 분석 성공: %d개, ❌ 실패: %d개, 🔗 중복 연결: %d개%n",
+            Metrics.ANALYSIS_SUCCESS.sum(), Metrics.ANALYSIS_FAILURE.sum(), Metrics.ANALYSIS_DUPLICATES.sum());
+        System.out.printf("⏱️ 전체 소요 시간: %.1fs%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    private record Analyzed(AiMemeAnalyzer.MemeInput input, AnalysisResult result, Throwable error) {
+    }
+}
@@ -0,0 +1,170 @@
+package org.nexters.memecrawler.analyzer;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.nexters.memecrawler.util.Json;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AnalysisCache implements AutoCloseable {
+    private static final ObjectReader recordReader = Json.MAPPER.readerFor(CacheRecord.class);
+    private static final ObjectWriter recordWriter = Json.MAPPER.writerFor(CacheRecord.class);
+
+    // 저장 파일 한 줄
+    private record CacheRecord(String key, String response) {
+    }
+
+    private final FileChannel store;
+    private final Map<String, StoreEntry> index = new HashMap<>();
+    private final LinkedHashMap<String, String> memory;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AnalysisCache(String storeFile, int memoryEntries) throws IOException {
+        Path path = Path.of(storeFile);
+        this.store = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+        loadIndex(path);
+    }
+
+    public static String normalize(String memeContent) {
+        StringBuilder normalized = new StringBuilder(memeContent.length());
+        for (String line : memeContent.split("\n")) {
+            // 크롤링 시간은 매 실행마다 달라지므로 캐시 키에서 제외
+            if (line.startsWith("크롤링 시간:")) {
+                continue;
+            }
+            String trimmed = line.strip();
+            if (!trimmed.isEmpty()) {
+                normalized.append(trimmed.replaceAll("\\s+", " ")).append('\n');
+            }
+        }
+        return normalized.toString();
+    }
+
+    public synchronized Optional<String> get(String key) {
+        String response = memory.get(key);
+        if (response == null) {
+            StoreEntry entry = index.get(key);
+            if (entry != null) {
+                response = readResponse(entry);
+                memory.put(key, response);
+            }
+        }
+
+        if (response == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(response);
+    }
+
+    public synchronized void put(String key, String response) {
+        try {
+            byte[] line = (recordWriter.writeValueAsString(new CacheRecord(key, response)) + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+
+            long offset = store.size();
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                store.write(buffer, offset + buffer.position());
+            }
+
+            index.put(key, new StoreEntry(offset, line.length - 1));
+            memory.put(key, response);
+        } catch (IOException e) {
+            System.err.println("분석 캐시 저장 실패: " + e.getMessage());
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private void loadIndex(Path path) throws IOException {
+        if (Files.size(path) == 0) {
+            return;
+        }
+
+        long lineStart = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long offset = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                indexLine(line.toByteArray(), lineStart);
+                line.reset();
+                lineStart = offset;
+            }
+        }
+
+        // 비정상 종료로 잘린 마지막 줄은 잘라내고 그 위치부터 다시 기록
+        if (lineStart < store.size()) {
+            store.truncate(lineStart);
+        }
+    }
+
+    private void indexLine(byte[] line, long offset) {
+        if (line.length == 0) {
+            return;
+        }
+        try {
+            CacheRecord record = recordReader.readValue(line);
+            index.put(record.key(), new StoreEntry(offset, line.length));
+        } catch (IOException e) {
+            System.err.println("손상된 캐시 항목 무시 (offset " + offset + ")");
+        }
+    }
+
+    private String readResponse(StoreEntry entry) {
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(entry.length());
+            while (buffer.hasRemaining()) {
+                if (store.read(buffer, entry.offset() + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            return recordReader.<CacheRecord>readValue(buffer.array()).response();
+        } catch (IOException e) {
+            System.err.println("분석 캐시 읽기 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        store.close();
+    }
+
+    private record StoreEntry(long offset, int length) {
+    }
+}
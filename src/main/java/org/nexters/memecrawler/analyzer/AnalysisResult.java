@@ -0,0 +1,5 @@
+package org.nexters.memecrawler.analyzer;
+
+// analysis는 스키마 검증을 통과한 결과. fallback이면 null
+public record AnalysisResult(String response, MemeAnalysis analysis, int attempts, boolean fallback, boolean cached) {
+}
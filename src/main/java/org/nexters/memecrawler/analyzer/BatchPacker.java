@@ -0,0 +1,43 @@
+package org.nexters.memecrawler.analyzer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+// 입력을 순서대로 받아 토큰 예산과 최대 개수를 넘지 않는 묶음으로 잘라 sink에 넘긴다
+public class BatchPacker<T> {
+    private final int tokenBudget;
+    private final int maxItems;
+    private final ToIntFunction<T> tokenCost;
+    private final Consumer<List<T>> sink;
+
+    private List<T> current = new ArrayList<>();
+    private int currentTokens;
+
+    public BatchPacker(int tokenBudget, int maxItems, ToIntFunction<T> tokenCost, Consumer<List<T>> sink) {
+        this.tokenBudget = tokenBudget;
+        this.maxItems = maxItems;
+        this.tokenCost = tokenCost;
+        this.sink = sink;
+    }
+
+    public void add(T item) {
+        int tokens = tokenCost.applyAsInt(item);
+        if (!current.isEmpty() && (currentTokens + tokens > tokenBudget || current.size() >= maxItems)) {
+            flush();
+        }
+        current.add(item);
+        currentTokens += tokens;
+    }
+
+    public void flush() {
+        if (current.isEmpty()) {
+            return;
+        }
+        List<T> batch = current;
+        current = new ArrayList<>();
+        currentTokens = 0;
+        sink.accept(batch);
+    }
+}
@@ -0,0 +1,152 @@
+package org.nexters.memecrawler.analyzer;
+
+import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.crawler.PageExtractor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// 클린 텍스트에서 분석에 필요한 문단만 남겨 토큰 예산 안으로 줄인다
+public class ContentReducer {
+    private static final String BODY_MARKER = "본문 내용:";
+    private static final List<String> HEADER_PREFIXES = List.of("제목:", "출처:", "페이지 제목:");
+    private static final List<String> RELEVANT_HEADINGS = List.of(
+        "개요", "유래", "기원", "상세", "사용", "용례", "예시", "의미", "역사", "전개", "유행", "시기", "특징");
+    private static final List<String> DROPPED_HEADINGS = List.of(
+        "관련 문서", "같이 보기", "둘러보기", "외부 링크", "각주", "참고 문헌", "참고 자료");
+
+    private static final Pattern BOILERPLATE = Pattern.compile(
+        "최근 수정 시각: ?\\S+ \\S+|\\[편집]|\\[펼치기 · 접기]|\\[\\s*목차\\s*]");
+    // 문장 끝이나 각주 번호([1], [a])를 경계로 잘라 같은 내용의 반복을 찾는다
+    private static final Pattern SEGMENT_BOUNDARY = Pattern.compile("(?<=[.!?])\\s+|\\s*\\[(?:\\d+|[a-z])]\\s*");
+    private static final int MIN_DEDUPE_LENGTH = 8;
+    private static final int MIN_PARTIAL_SECTION_TOKENS = 50;
+
+    private static final int PRIORITY_RELEVANT = 0;
+    private static final int PRIORITY_OTHER = 1;
+    private static final int PRIORITY_PREAMBLE = 2;
+    private static final int PRIORITY_DROPPED = 3;
+
+    public static String reduce(String content) {
+        return reduce(content, CrawlerConfig.ANALYSIS_INPUT_TOKEN_BUDGET);
+    }
+
+    public static String reduce(String content, int tokenBudget) {
+        int bodyStart = content.indexOf(BODY_MARKER);
+        String header = bodyStart >= 0 ? content.substring(0, bodyStart) : "";
+        String body = bodyStart >= 0 ? content.substring(bodyStart + BODY_MARKER.length()) : content;
+
+        StringBuilder reduced = new StringBuilder();
+        for (String line : header.split("\n")) {
+            if (HEADER_PREFIXES.stream().anyMatch(line::startsWith)) {
+                reduced.append(line).append('\n');
+            }
+        }
+
+        List<Section> sections = splitSections(body);
+        selectWithinBudget(sections, tokenBudget - TokenEstimator.estimate(reduced.toString()));
+
+        reduced.append(BODY_MARKER).append('\n');
+        for (Section section : sections) {
+            if (section.kept == null) {
+                continue;
+            }
+            if (section.heading != null) {
+                reduced.append(PageExtractor.HEADING_LINE_PREFIX).append(section.heading).append('\n');
+            }
+            reduced.append(section.kept).append('\n');
+        }
+        return reduced.toString();
+    }
+
+    private static List<Section> splitSections(String body) {
+        List<Section> sections = new ArrayList<>();
+        Section current = new Section(null);
+        for (String line : body.split("\n")) {
+            if (line.startsWith(PageExtractor.HEADING_LINE_PREFIX)) {
+                sections.add(current);
+                current = new Section(line.substring(PageExtractor.HEADING_LINE_PREFIX.length()).trim());
+            } else if (!line.isBlank()) {
+                current.text.append(line.trim()).append(' ');
+            }
+        }
+        sections.add(current);
+
+        boolean hasHeadings = sections.size() > 1;
+        Set<String> seenSegments = new HashSet<>();
+        for (Section section : sections) {
+            section.priority = priorityOf(section.heading, hasHeadings);
+            if (section.priority != PRIORITY_DROPPED) {
+                section.cleaned = clean(section.text.toString(), seenSegments);
+            }
+        }
+        return sections;
+    }
+
+    private static int priorityOf(String heading, boolean hasHeadings) {
+        if (heading == null) {
+            // 문단 제목이 없는 예전 형식 파일은 본문 전체가 여기에 들어온다
+            return hasHeadings ? PRIORITY_PREAMBLE : PRIORITY_RELEVANT;
+        }
+        if (DROPPED_HEADINGS.stream().anyMatch(heading::contains)) {
+            return PRIORITY_DROPPED;
+        }
+        if (RELEVANT_HEADINGS.stream().anyMatch(heading::contains)) {
+            return PRIORITY_RELEVANT;
+        }
+        return PRIORITY_OTHER;
+    }
+
+    private static String clean(String text, Set<String> seenSegments) {
+        String withoutBoilerplate = BOILERPLATE.matcher(text).replaceAll(" ");
+        StringBuilder cleaned = new StringBuilder(withoutBoilerplate.length());
+        for (String segment : SEGMENT_BOUNDARY.split(withoutBoilerplate)) {
+            String trimmed = segment.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.length() >= MIN_DEDUPE_LENGTH && !seenSegments.add(trimmed)) {
+                continue;
+            }
+            cleaned.append(trimmed).append(' ');
+        }
+        return cleaned.toString().trim();
+    }
+
+    private static void selectWithinBudget(List<Section> sections, int tokenBudget) {
+        int remaining = tokenBudget;
+        List<Section> byPriority = new ArrayList<>(sections);
+        byPriority.sort(Comparator.comparingInt(section -> section.priority));
+
+        for (Section section : byPriority) {
+            if (section.priority == PRIORITY_DROPPED || section.cleaned.isEmpty()) {
+                continue;
+            }
+            int headingTokens = section.heading != null ? TokenEstimator.estimate(section.heading) + 1 : 0;
+            int tokens = headingTokens + TokenEstimator.estimate(section.cleaned);
+            if (tokens <= remaining) {
+                section.kept = section.cleaned;
+                remaining -= tokens;
+            } else if (remaining - headingTokens >= MIN_PARTIAL_SECTION_TOKENS) {
+                section.kept = TokenEstimator.truncate(section.cleaned, remaining - headingTokens);
+                remaining = 0;
+            }
+        }
+    }
+
+    private static final class Section {
+        private final String heading;
+        private final StringBuilder text = new StringBuilder();
+        private int priority;
+        private String cleaned;
+        private String kept;
+
+        private Section(String heading) {
+            this.heading = heading;
+        }
+    }
+}
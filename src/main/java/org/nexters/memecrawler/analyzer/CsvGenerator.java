@@ -1,55 +1,62 @@
 package org.nexters.memecrawler.analyzer;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.nexters.memecrawler.config.CrawlerConfig;
-import org.nexters.memecrawler.util.FileUtils;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 public class CsvGenerator {
+    private static final String CSV_HEADER = "title,origin,usageContext,trendPeriod,imgUrl,hashtags\n";
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final int PARSE_WINDOW = 2 * Runtime.getRuntime().availableProcessors();
     
-    public static void generateCsvFromJsonQueue(ConcurrentLinkedQueue<String> jsonResults) {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            StringBuilder csvContent = new StringBuilder();
-
-            csvContent.append("title,origin,usageContext,trendPeriod,imgUrl,hashtags\n");
-
-            for (String jsonResult : jsonResults) {
-                try {
-                    JsonNode node = mapper.readTree(jsonResult);
-
-                    String[] fields = {
-                        JsonProcessor.escapeCSV(JsonProcessor.getFieldValue(node, "title")),
-                        JsonProcessor.escapeCSV(JsonProcessor.getFieldValue(node, "origin")),
-                        JsonProcessor.escapeCSV(JsonProcessor.getFieldValue(node, "usageContext")),
-                        JsonProcessor.escapeCSV(JsonProcessor.getFieldValue(node, "trendPeriod")),
-                        JsonProcessor.escapeCSV(JsonProcessor.getFieldValue(node, "imgUrl")),
-                        JsonProcessor.escapeCSV(JsonProcessor.getFieldValue(node, "hashtags"))
-                    };
-
-                    csvContent.append(String.join(",", fields)).append("\n");
-
-                } catch (Exception e) {
-                    System.err.println("JSON 파싱 오류: " + e.getMessage());
-                    System.err.println("JSON 내용: " + jsonResult);
+    // 실행 기록에 남은 분석 결과 파일들로 CSV를 다시 만든다. 결과를 메모리에 모으지 않고 한 파일씩 읽어 쓴다
+    public static int rebuildCsv(String csvFile, List<Path> jsonFiles) throws IOException {
+        int rowCount = 0;
+        try (Writer writer = openCsvWriter(csvFile)) {
+            writer.write(CSV_HEADER);
+            for (Path jsonFile : jsonFiles) {
+                ParsedFile parsed = parseJsonFile(jsonFile);
+                if (parsed.analysis() == null) {
+                    System.err.println("❌ 처리 실패: " + jsonFile.getFileName() + " - " + parsed.error());
+                    continue;
                 }
+                writeRow(writer, parsed.analysis());
+                rowCount++;
             }
+        }
+        return rowCount;
+    }
 
-            FileUtils.saveTextToFile(csvContent.toString(), CrawlerConfig.CSV_OUTPUT_FILE);
-
-            System.out.println("CSV 파일 생성 완료: " + CrawlerConfig.CSV_OUTPUT_FILE);
-            System.out.println("총 " + jsonResults.size() + "개의 밈 데이터가 CSV로 변환되었습니다.");
-
-        } catch (Exception e) {
-            System.err.println("CSV 생성 오류: " + e.getMessage());
+    public static Writer openCsvAppender(String csvFile) throws IOException {
+        Path path = Paths.get(csvFile);
+        boolean needsHeader = !Files.exists(path) || Files.size(path) == 0;
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        if (needsHeader) {
+            writer.write(CSV_HEADER);
         }
+        return writer;
+    }
+
+    public static void appendRow(Writer writer, MemeAnalysis analysis) throws IOException {
+        writeRow(writer, analysis);
+        writer.flush();
     }
 
     public static void regenerateCsvFromExistingJson() {
@@ -62,53 +69,99 @@ public class CsvGenerator {
                 return;
             }
 
-            ObjectMapper mapper = new ObjectMapper();
-            StringBuilder csvContent = new StringBuilder();
-            csvContent.append("title,origin,usageContext,trendPeriod,imgUrl,hashtags\n");
-
-            int successCount = 0;
-            int failCount = 0;
-            
+            List<Path> jsonFiles;
             try (Stream<Path> paths = Files.walk(jsonDir)) {
-                for (Path jsonFile : paths.filter(Files::isRegularFile)
+                jsonFiles = paths.filter(Files::isRegularFile)
                     .filter(path -> path.toString().endsWith(".json"))
-                    .toList()) {
-                    
-                    try {
-                        String jsonContent = Files.readString(jsonFile);
-                        JsonNode node = mapper.readTree(jsonContent);
-
-                        String[] fields = {
-                            JsonProcessor.escapeCSV(JsonProcessor.mapFieldValue(node, "title", "name")),
-                            JsonProcessor.escapeCSV(JsonProcessor.getFieldValue(node, "origin")),
-                            JsonProcessor.escapeCSV(JsonProcessor.mapFieldValue(node, "usageContext", "meaning")),
-                            JsonProcessor.escapeCSV(JsonProcessor.getFieldValue(node, "trendPeriod")),
-                            JsonProcessor.escapeCSV(JsonProcessor.getFieldValue(node, "imgUrl")),
-                            JsonProcessor.escapeCSV(JsonProcessor.getFieldValue(node, "hashtags"))
-                        };
-
-                        csvContent.append(String.join(",", fields)).append("\n");
-                        successCount++;
-                        
-                        System.out.println("✅ 처리 완료: " + jsonFile.getFileName());
-
-                    } catch (Exception e) {
-                        failCount++;
-                        System.err.println("❌ 처리 실패: " + jsonFile.getFileName() + " - " + e.getMessage());
-                    }
-                }
+                    .toList();
             }
 
             String regeneratedCsvFile = "meme_analysis_results_regenerated.csv";
-            FileUtils.saveTextToFile(csvContent.toString(), regeneratedCsvFile);
+            AtomicInteger successCount = new AtomicInteger(0);
+            AtomicInteger failCount = new AtomicInteger(0);
+
+            try (Writer writer = openCsvWriter(regeneratedCsvFile)) {
+                writer.write(CSV_HEADER);
+
+                // 파싱은 병렬로, 기록은 원래 파일 순서대로. 앞선 파일이 늦어도 메모리에 쌓이는 결과는 창 크기까지다
+                Deque<CompletableFuture<ParsedFile>> window = new ArrayDeque<>(PARSE_WINDOW);
+                for (Path jsonFile : jsonFiles) {
+                    if (window.size() == PARSE_WINDOW) {
+                        writeParsed(writer, window.removeFirst().join(), successCount, failCount);
+                    }
+                    window.addLast(CompletableFuture.supplyAsync(() -> parseJsonFile(jsonFile)));
+                }
+                while (!window.isEmpty()) {
+                    writeParsed(writer, window.removeFirst().join(), successCount, failCount);
+                }
+            }
 
             System.out.println("\n=== CSV 재생성 완료 ===");
-            System.out.printf("✅ 성공: %d개%n", successCount);
-            System.out.printf("❌ 실패: %d개%n", failCount);
+            System.out.printf("✅ 성공: %d개%n", successCount.get());
+            System.out.printf("❌ 실패: %d개%n", failCount.get());
             System.out.printf("📄 출력 파일: %s%n", regeneratedCsvFile);
 
         } catch (Exception e) {
             System.err.println("CSV 재생성 오류: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private static void writeParsed(Writer writer, ParsedFile parsed, AtomicInteger successCount,
+                                    AtomicInteger failCount) {
+        if (parsed.analysis() == null) {
+            failCount.incrementAndGet();
+            System.err.println("❌ 처리 실패: " + parsed.file().getFileName() + " - " + parsed.error());
+            return;
+        }
+        try {
+            writeRow(writer, parsed.analysis());
+            successCount.incrementAndGet();
+        } catch (IOException e) {
+            failCount.incrementAndGet();
+            System.err.println("❌ 처리 실패: " + parsed.file().getFileName() + " - " + e.getMessage());
+        }
+    }
+
+    public static int writeCsv(Writer writer, Iterable<MemeAnalysis> rows) throws IOException {
+        writer.write(CSV_HEADER);
+        int rowCount = 0;
+        for (MemeAnalysis row : rows) {
+            writeRow(writer, row);
+            rowCount++;
+        }
+        return rowCount;
+    }
+
+    private static ParsedFile parseJsonFile(Path jsonFile) {
+        try {
+            return new ParsedFile(jsonFile, MemeAnalysis.read(jsonFile), null);
+        } catch (IOException e) {
+            return new ParsedFile(jsonFile, null, e.getMessage());
+        }
+    }
+
+    private static Writer openCsvWriter(String fileName) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(fileName),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+    }
+
+    // 예전 결과 파일의 name/meaning 필드는 MemeAnalysis를 읽을 때 title/usageContext로 옮겨진다
+    private static void writeRow(Writer writer, MemeAnalysis analysis) throws IOException {
+        JsonProcessor.writeCsvField(writer, analysis.title());
+        writer.write(',');
+        JsonProcessor.writeCsvField(writer, analysis.origin());
+        writer.write(',');
+        JsonProcessor.writeCsvField(writer, analysis.usageContext());
+        writer.write(',');
+        JsonProcessor.writeCsvField(writer, analysis.trendPeriod());
+        writer.write(',');
+        JsonProcessor.writeCsvField(writer, analysis.imgUrl());
+        writer.write(',');
+        JsonProcessor.writeCsvField(writer, analysis.hashtags().isEmpty() ? null : analysis.hashtagsJson());
+        writer.write('\n');
+    }
+
+    private record ParsedFile(Path file, MemeAnalysis analysis, String error) {
+    }
+}
@@ -1,18 +1,49 @@
 package org.nexters.memecrawler.analyzer;
 
 import com.google.genai.Client;
+import com.google.genai.errors.ApiException;
 import com.google.genai.types.Content;
 import com.google.genai.types.GenerateContentConfig;
 import com.google.genai.types.GenerateContentResponse;
+import com.google.genai.types.HttpOptions;
 import com.google.genai.types.Part;
+import com.google.genai.types.Schema;
+import com.google.genai.types.Type;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.metrics.Metrics;
+import org.nexters.memecrawler.network.CircuitBreaker;
+import org.nexters.memecrawler.util.HashUtils;
+import org.nexters.memecrawler.util.Log;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-public class GeminiApiClient {
-    private static final Dotenv dotenv = Dotenv.load();
+public class GeminiApiClient implements AutoCloseable {
+    // .env가 없으면 환경 변수에서 찾는다
+    private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
     private static final String API_KEY = dotenv.get("GEMINI_API_KEY");
     
     private static final String ANALYSIS_PROMPT =
@@ -30,7 +61,7 @@ public class GeminiApiClient {
               "usageContext": "밈이 언제, 어떤 상황에서 사용되는지 맥락을 자세히 설명해주세요. (String) (최대 300자 이내)",
               "trendPeriod": "밈이 유행한 시기 (예: 2023,2024, 2000 와 같이 YYYY 형식으로 작성한다. 가장 유행했던 연도 하나만 기재)",
               "imgUrl": "관련 이미지 URL이 있다면 포함, 없으면 null (String)",
-              "hashtags": "밈과 관련된 해시태그들을 JSON 배열 형태의 문자열로 저장 (String) (예: [\"#무한도전\", \"#무야호\", \"#최규재\", \"#알래스카\", \"#인터넷밈\", \"#유행어\", \"#환희\", \"#기쁨\", \"#감탄사\"] 형태로 작성한다.)",
+              "hashtags": ["#으로 시작하는 관련 해시태그 (String 배열)"]
             }
             
             # Example (for '무야호' meme)
@@ -38,19 +69,29 @@ public class GeminiApiClient {
               "title": "무야호",
               "origin": "2010년 MBC 무한도전 알래스카 편에서 한 어르신이 '무한도전'을 '무야호'로 잘못 외친 장면에서 시작됐습니다. 이 순수한 외침이 10년이 지난 후 유튜브 알고리즘을 통해 재발견되어 폭발적으로 유행했습니다.",
               "usageContext": "예상치 못한 행운이나 큰 성취감에 벅차올라 터져 나오는 순수한 환희를 표현할 때 사용합니다. 월급날 통장을 확인했을 때, 시험 성적이 예상보다 좋을 때, 코딩한 프로그램이 에러 없이 실행될 때 등 기쁨과 놀라움이 섞인 상황에서 사용됩니다.",
-              "trendPeriod": "2020년대",
+              "trendPeriod": "2021",
               "imgUrl": null,
-              "hashtags": "[\"#무한도전\", \"#무야호\", \"#최규재\", \"#알래스카\", \"#인터넷밈\", \"#유행어\", \"#환희\", \"#기쁨\", \"#감탄사\"]]"
+              "hashtags": ["#무한도전", "#무야호", "#최규재", "#알래스카", "#인터넷밈", "#유행어", "#환희", "#기쁨", "#감탄사"]
             }
             
             분석할 내용:
             """;
             
+    private static final String BATCH_INSTRUCTION =
+        """
+            # Batch Instruction
+            이번 요청에는 여러 개의 밈이 "=== MEME id=<id> ===" 구분선으로 나뉘어 주어집니다.
+            각 밈을 아래 JSON 구조대로 따로 분석하고, 각 객체에 입력과 동일한 "id" 필드를 추가하세요.
+            응답은 다른 설명 없이 모든 밈의 객체를 담은 하나의 JSON 배열이어야 합니다.
+            
+            """;
+    private static final String BATCH_ID_FIELD = "id";
+            
     private static final String SYSTEM_INSTRUCTION =
         """
             # 시스템 지침
             당신은 한국 인터넷 밈 전문 분석가입니다.
-            나무위키에서 추출한 밈 데이터를 정확하고 객관적으로 분석하여 구조화된 마크다운으로 정리하세요.
+            나무위키에서 추출한 밈 데이터를 정확하고 객관적으로 분석하여 지정된 JSON 스키마에 맞춰 정리하세요.
             주의사항:
             1. 모든 필드를 빠짐없이 채워주세요
             2. 유행 정도는 실제 영향력을 기준으로 객관적으로 평가하세요
@@ -59,55 +100,532 @@ public class GeminiApiClient {
             5. 불확실한 정보는 추측하지 말고 "정보 없음"으로 표기하세요
         """;
 
-    private final AtomicInteger apiRetryCount;
+    private static final int SYSTEM_INSTRUCTION_TOKENS = TokenEstimator.estimate(SYSTEM_INSTRUCTION);
+    static final int PROMPT_OVERHEAD_TOKENS = SYSTEM_INSTRUCTION_TOKENS + TokenEstimator.estimate(ANALYSIS_PROMPT);
+
+    private static final List<String> ANALYSIS_FIELDS =
+        List.of("title", "origin", "usageContext", "trendPeriod", "imgUrl", "hashtags");
+
+    // 응답을 JSON 모드로 받아 MemeAnalysis 필드와 같은 구조를 모델 단계에서 강제한다
+    private static final Schema ANALYSIS_SCHEMA = Schema.builder()
+        .type(Type.Known.OBJECT)
+        .properties(Map.of(
+            "title", stringSchema("밈의 제목"),
+            "origin", stringSchema("밈의 기원과 유래 (최대 300자)"),
+            "usageContext", stringSchema("밈이 사용되는 상황과 맥락 (최대 300자)"),
+            "trendPeriod", stringSchema("가장 유행했던 연도 하나 (YYYY)"),
+            "imgUrl", Schema.builder().type(Type.Known.STRING).nullable(true).description("관련 이미지 URL").build(),
+            "hashtags", Schema.builder()
+                .type(Type.Known.ARRAY)
+                .items(stringSchema("#으로 시작하는 해시태그"))
+                .minItems(1L)
+                .build()))
+        .required(List.of("title", "origin", "usageContext", "trendPeriod", "hashtags"))
+        .propertyOrdering(ANALYSIS_FIELDS)
+        .build();
+
+    private static final Schema BATCH_SCHEMA = Schema.builder()
+        .type(Type.Known.ARRAY)
+        .items(ANALYSIS_SCHEMA.toBuilder()
+            .properties(withBatchId(ANALYSIS_SCHEMA.properties().orElseThrow()))
+            .required(withBatchId(ANALYSIS_SCHEMA.required().orElseThrow()))
+            .propertyOrdering(withBatchId(ANALYSIS_FIELDS))
+            .build())
+        .build();
+
+    private static final GenerateContentConfig GENERATE_CONFIG = jsonConfig(ANALYSIS_SCHEMA);
+    private static final GenerateContentConfig BATCH_GENERATE_CONFIG = jsonConfig(BATCH_SCHEMA);
+
+    // 할당량 초과 응답 메시지의 "Please retry in 31.5s" 또는 RetryInfo의 "retryDelay": "31s"
+    private static final Pattern RETRY_HINT =
+        Pattern.compile("(?i)(?:retry in|retryDelay\"?\\s*[:=]\\s*\"?)\\s*(\\d+(?:\\.\\d+)?)s");
+
+    // 오류율이 치솟으면 이 프로세스의 모든 Gemini 요청을 함께 멈춘다
+    private static final CircuitBreaker CIRCUIT_BREAKER = new CircuitBreaker("Gemini",
+        CrawlerConfig.GEMINI_CIRCUIT_WINDOW,
+        CrawlerConfig.GEMINI_CIRCUIT_MIN_CALLS,
+        CrawlerConfig.GEMINI_CIRCUIT_FAILURE_RATE,
+        CrawlerConfig.GEMINI_CIRCUIT_OPEN_MS,
+        CrawlerConfig.GEMINI_CIRCUIT_PROBES,
+        Metrics.GEMINI_CIRCUIT_OPENS);
+
+    private final AnalysisCache cache;
+    private final List<Client> clients;
+    // SDK 클라이언트마다 연결 수만큼 넣어 두고 호출 하나가 하나씩 빌린다. 늦게 끝나는 버려진 호출과 hedge까지
+    // 연결을 미리 확보해 두므로 요청이 SDK 연결 풀에서 줄 서지 않는다
+    private final BlockingQueue<Client> connections;
+    private final ExecutorService executor;
+    private final Semaphore inFlightRequests;
+    private final QuotaScheduler quota = QuotaScheduler.shared();
+
+    public GeminiApiClient(AnalysisCache cache) {
+        this(cache, CrawlerConfig.MAX_IN_FLIGHT_API_REQUESTS);
+    }
+
+    public GeminiApiClient(AnalysisCache cache, int maxInFlightRequests) {
+        this.cache = cache;
+        // 동시 요청 슬롯의 두 배만큼 연결을 둔다. 슬롯은 버려진 호출이 끝나기 전에 돌아오기 때문이다
+        this.clients = new ArrayList<>();
+        this.connections = new LinkedBlockingQueue<>();
+        for (int i = 0; i < maxInFlightRequests; i++) {
+            Client client = createClient();
+            clients.add(client);
+            for (int j = 0; j < CrawlerConfig.GEMINI_CONNECTIONS_PER_CLIENT; j++) {
+                connections.add(client);
+            }
+        }
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.inFlightRequests = new Semaphore(maxInFlightRequests, true);
+    }
+
+    static CircuitBreaker.State circuitState() {
+        return CIRCUIT_BREAKER.state();
+    }
+
+    public CompletableFuture<AnalysisResult> submit(String memeContent) {
+        String cacheKey = cacheKeyFor(memeContent);
+        Optional<AnalysisResult> cached = cachedResult(cacheKey);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        return CompletableFuture.supplyAsync(() -> analyzeAndCache(memeContent, cacheKey), executor);
+    }
+
+    public record BatchItem(String id, String content) {}
 
-    public GeminiApiClient(AtomicInteger apiRetryCount) {
-        this.apiRetryCount = apiRetryCount;
+    // 여러 밈을 한 번의 요청으로 분석한다. 결과는 BatchItem.id 기준으로 돌려준다
+    public CompletableFuture<Map<String, AnalysisResult>> submitBatch(List<BatchItem> items) {
+        Map<String, AnalysisResult> results = new ConcurrentHashMap<>();
+        List<BatchItem> pending = new ArrayList<>();
+        for (BatchItem item : items) {
+            Optional<AnalysisResult> cached = cachedResult(cacheKeyFor(item.content()));
+            if (cached.isPresent()) {
+                results.put(item.id(), cached.get());
+            } else {
+                pending.add(item);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(results);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            analyzeBatch(pending, results);
+            return results;
+        }, executor);
     }
 
     public String analyzeMeme(String memeContent) {
+        return submit(memeContent).join().response();
+    }
+
+    // 스키마를 만족하는 캐시 항목만 쓴다. 깨진 항목은 다시 분석해 덮어쓴다
+    private Optional<AnalysisResult> cachedResult(String cacheKey) {
+        return cache.get(cacheKey)
+            .map(response -> {
+                MemeAnalysis analysis = MemeAnalysis.parse(response);
+                return analysis != null && analysis.violations().isEmpty()
+                    ? new AnalysisResult(response, analysis, 0, false, true)
+                    : null;
+            });
+    }
+
+    private static String cacheKeyFor(String memeContent) {
+        return HashUtils.sha256Hex(CrawlerConfig.GEMINI_MODEL, SYSTEM_INSTRUCTION, ANALYSIS_PROMPT,
+            AnalysisCache.normalize(memeContent));
+    }
+
+    private AnalysisResult analyzeAndCache(String memeContent, String cacheKey) {
+        AnalysisResult result = analyze(memeContent);
+        if (!result.fallback()) {
+            cache.put(cacheKey, result.response());
+        }
+        return result;
+    }
+
+    private void analyzeBatch(List<BatchItem> items, Map<String, AnalysisResult> results) {
+        Deadline deadline = new Deadline();
+        List<BatchItem> remaining = items;
+        for (int attempt = 1; attempt <= CrawlerConfig.MAX_API_RETRIES && remaining.size() > 1; attempt++) {
+            try {
+                Map<String, JsonNode> parsed = JsonProcessor.parseBatchResponse(
+                    generate(buildBatchPrompt(remaining), BATCH_GENERATE_CONFIG, deadline, false), BATCH_ID_FIELD);
+
+                // 빠졌거나 스키마를 어긴 항목만 다음 요청에 다시 싣는다
+                List<BatchItem> missing = new ArrayList<>();
+                for (int i = 0; i < remaining.size(); i++) {
+                    BatchItem item = remaining.get(i);
+                    JsonNode node = parsed.get(batchIdOf(i));
+                    MemeAnalysis analysis = node != null ? MemeAnalysis.fromJson(node) : null;
+                    if (analysis == null || !analysis.violations().isEmpty()) {
+                        if (analysis != null) {
+                            Metrics.SCHEMA_VIOLATIONS.increment();
+                        }
+                        missing.add(item);
+                        continue;
+                    }
+                    ((ObjectNode) node).remove(BATCH_ID_FIELD);
+                    String response = node.toString();
+                    cache.put(cacheKeyFor(item.content()), response);
+                    results.put(item.id(), new AnalysisResult(response, analysis, attempt, false, false));
+                }
+
+                if (!missing.isEmpty()) {
+                    Log.item("📦 배치 응답에서 %d/%d개 누락 또는 스키마 위반, 해당 항목만 다시 요청",
+                        missing.size(), remaining.size());
+                }
+                remaining = missing;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                Metrics.GEMINI_RETRIES.increment();
+                Log.warn("🔄 배치 API 호출 실패 (시도 %d/%d, %d개): %s",
+                    attempt, CrawlerConfig.MAX_API_RETRIES, remaining.size(), e.getMessage());
+                if (!isTransient(e) || !sleepBeforeRetry(attempt, e, deadline)) {
+                    break;
+                }
+            }
+        }
+
+        // 끝까지 빠진 항목과 단건만 남은 경우는 개별 요청 경로로 처리한다
+        for (BatchItem item : remaining) {
+            results.put(item.id(), analyzeAndCache(item.content(), cacheKeyFor(item.content())));
+        }
+    }
+
+    private static String buildBatchPrompt(List<BatchItem> items) {
+        StringBuilder prompt = new StringBuilder(BATCH_INSTRUCTION).append(ANALYSIS_PROMPT);
+        for (int i = 0; i < items.size(); i++) {
+            prompt.append("\n=== MEME id=").append(batchIdOf(i)).append(" ===\n")
+                .append(items.get(i).content()).append('\n');
+        }
+        return prompt.toString();
+    }
+
+    // 파일명 대신 짧은 순번을 id로 써서 모델이 id를 변형할 여지를 줄인다
+    private static String batchIdOf(int index) {
+        return "m" + (index + 1);
+    }
+
+    // 요청 하나(재시도 포함)의 마감 시간. 첫 호출이 실제로 나갈 때부터 재므로 슬롯과 할당량을 기다린 시간은 들어가지 않는다
+    private static final class Deadline {
+        private long expiresAtNanos;
+
+        void start() {
+            if (expiresAtNanos == 0) {
+                expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CrawlerConfig.GEMINI_REQUEST_DEADLINE_MS);
+            }
+        }
+
+        long remainingNanos() {
+            return expiresAtNanos == 0
+                ? TimeUnit.MILLISECONDS.toNanos(CrawlerConfig.GEMINI_REQUEST_DEADLINE_MS)
+                : expiresAtNanos - System.nanoTime();
+        }
+    }
+
+    // 대기 중에는 동시 요청 슬롯을 점유하지 않는다. 대기가 마감 시간을 넘으면 재시도하지 않는다
+    private static boolean sleepBeforeRetry(int attempt, Exception error, Deadline deadline) {
+        long delayMillis = retryDelayMillis(attempt, error);
+        if (TimeUnit.MILLISECONDS.toNanos(delayMillis) >= deadline.remainingNanos()) {
+            Log.warn("⌛ 재시도 대기(%dms)가 요청 마감 시간을 넘어 중단", delayMillis);
+            return false;
+        }
+        try {
+            Log.item("⏳ %.1f초 대기 후 재시도...", delayMillis / 1000.0);
+            Thread.sleep(delayMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 지수 백오프에 전체 지터를 섞어 함께 실패한 요청들이 한꺼번에 다시 몰리지 않게 한다.
+    // 서버가 재시도 시점을 알려 주면 그보다 일찍 보내지 않는다
+    static long retryDelayMillis(int attempt, Throwable error) {
+        long ceiling = Math.min(CrawlerConfig.API_RETRY_MAX_DELAY_MS,
+            CrawlerConfig.API_RETRY_DELAY_MS << Math.min(attempt - 1, 20));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return retryHint(error)
+            .map(hint -> hint.toMillis() + random.nextLong(CrawlerConfig.API_RETRY_DELAY_MS))
+            .orElseGet(() -> random.nextLong(ceiling + 1));
+    }
+
+    static Optional<Duration> retryHint(Throwable error) {
+        String message = error.getMessage();
+        if (message == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = RETRY_HINT.matcher(message);
+        if (!matcher.find()) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofMillis((long) (Double.parseDouble(matcher.group(1)) * 1000)));
+    }
+
+    // 요청 제한, 타임아웃, 서버 오류, 연결 실패만 일시적인 장애로 본다. 나머지 4xx는 다시 보내도 같다
+    static boolean isTransient(Throwable error) {
+        if (error instanceof ApiException apiError) {
+            int code = apiError.code();
+            return code == 408 || code == 429 || code >= 500;
+        }
+        return true;
+    }
+
+    private AnalysisResult analyze(String memeContent) {
+        Deadline deadline = new Deadline();
+        List<String> violations = List.of();
         for (int attempt = 1; attempt <= CrawlerConfig.MAX_API_RETRIES; attempt++) {
-            try (Client client = Client.builder().apiKey(API_KEY).build()) {
+            try {
                 if (attempt > 1) {
-                    System.out.println("🔄 API 호출 재시도 " + attempt + "/" + CrawlerConfig.MAX_API_RETRIES);
+                    Log.item("🔄 API 호출 재시도 %d/%d", attempt, CrawlerConfig.MAX_API_RETRIES);
                 }
                 
-                GenerateContentResponse response = client.models.generateContent(
-                    "gemini-2.5-flash",
-                    ANALYSIS_PROMPT + memeContent,
-                    GenerateContentConfig.builder()
-                        .temperature(0.3f)
-                        .systemInstruction(Content.builder()
-                            .parts(List.of(
-                                Part.builder()
-                                    .text(SYSTEM_INSTRUCTION)
-                                    .build()))
-                            .build())
-                        .build());
-
-                String result = response.text();
-                return result != null ? result.trim() : "";
+                String result = generate(ANALYSIS_PROMPT + memeContent + correctionNote(violations), GENERATE_CONFIG,
+                    deadline, true);
+                String response = result != null ? result.trim() : "";
+                MemeAnalysis analysis = MemeAnalysis.parse(response);
+                violations = analysis != null ? analysis.violations() : List.of("JSON 객체가 없습니다");
+                if (violations.isEmpty()) {
+                    return new AnalysisResult(response, analysis, attempt, false, false);
+                }
+
+                // 스키마를 어긴 응답은 위반 내용을 알려 주고 이 밈만 다시 요청한다
+                Metrics.SCHEMA_VIOLATIONS.increment();
+                Log.warn("📐 스키마 위반 (시도 %d/%d): %s", attempt, CrawlerConfig.MAX_API_RETRIES, violations);
                 
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new AnalysisResult(createFallbackJson(memeContent), null, attempt, true, false);
             } catch (Exception e) {
-                apiRetryCount.incrementAndGet();
+                Metrics.GEMINI_RETRIES.increment();
                 System.err.println("🔄 API 호출 실패 (시도 " + attempt + "/" + CrawlerConfig.MAX_API_RETRIES + "): " + e.getMessage());
                 
                 if (attempt == CrawlerConfig.MAX_API_RETRIES) {
                     System.err.println("❌ 모든 재시도 실패, fallback JSON 반환");
-                    return createFallbackJson(memeContent);
+                    return new AnalysisResult(createFallbackJson(memeContent), null, attempt, true, false);
                 }
-                
-                try {
-                    System.out.println("⏳ " + (CrawlerConfig.API_RETRY_DELAY_MS * attempt / 1000) + "초 대기 후 재시도...");
-                    Thread.sleep(CrawlerConfig.API_RETRY_DELAY_MS * attempt);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return createFallbackJson(memeContent);
+                if (!isTransient(e)) {
+                    System.err.println("❌ 재시도해도 같은 오류, fallback JSON 반환");
+                    return new AnalysisResult(createFallbackJson(memeContent), null, attempt, true, false);
+                }
+                if (!sleepBeforeRetry(attempt, e, deadline)) {
+                    return new AnalysisResult(createFallbackJson(memeContent), null, attempt, true, false);
                 }
             }
         }
         
-        return createFallbackJson(memeContent);
+        return new AnalysisResult(createFallbackJson(memeContent), null, CrawlerConfig.MAX_API_RETRIES, true, false);
+    }
+
+    private static String correctionNote(List<String> violations) {
+        if (violations.isEmpty()) {
+            return "";
+        }
+        return "\n\n# 이전 응답의 문제\n" + String.join("\n", violations) + "\n위 문제를 고쳐 스키마에 맞게 다시 작성하세요.";
+    }
+
+    private static Schema stringSchema(String description) {
+        return Schema.builder().type(Type.Known.STRING).description(description).build();
+    }
+
+    private static List<String> withBatchId(List<String> fields) {
+        List<String> withId = new ArrayList<>(fields);
+        withId.add(0, BATCH_ID_FIELD);
+        return withId;
+    }
+
+    private static Map<String, Schema> withBatchId(Map<String, Schema> properties) {
+        Map<String, Schema> withId = new LinkedHashMap<>(properties);
+        withId.put(BATCH_ID_FIELD, stringSchema("입력 구분선의 id"));
+        return withId;
+    }
+
+    private static GenerateContentConfig jsonConfig(Schema schema) {
+        return GenerateContentConfig.builder()
+            .temperature(0.3f)
+            .systemInstruction(Content.builder()
+                .parts(List.of(
+                    Part.builder()
+                        .text(SYSTEM_INSTRUCTION)
+                        .build()))
+                .build())
+            .responseMimeType("application/json")
+            .responseSchema(schema)
+            .build();
+    }
+
+    private static Client createClient() {
+        // SDK의 timeout은 연결 타임아웃에만 걸리므로 응답 대기 마감은 call()에서 따로 건다
+        HttpOptions.Builder httpOptions = HttpOptions.builder()
+            .timeout((int) CrawlerConfig.GEMINI_CALL_TIMEOUT_MS);
+        String baseUrl = CrawlerConfig.geminiBaseUrl();
+        if (!baseUrl.isEmpty()) {
+            httpOptions.baseUrl(baseUrl);
+        }
+        return Client.builder().apiKey(API_KEY).httpOptions(httpOptions.build()).build();
+    }
+
+    private String generate(String prompt, GenerateContentConfig config, Deadline deadline, boolean hedge)
+            throws Exception {
+        // 할당량을 먼저 받는다. 반개방 시험 호출 자리를 쥔 채 할당량을 기다리면 그동안 다른 호출이 상태를 확인하지 못한다
+        int estimatedTokens = SYSTEM_INSTRUCTION_TOKENS + TokenEstimator.estimate(prompt);
+        quota.acquire(estimatedTokens);
+        CircuitBreaker.Permit permit = CIRCUIT_BREAKER.acquire(deadline.remainingNanos());
+        if (permit == null) {
+            quota.refund(estimatedTokens);
+            throw new TimeoutException("서킷 브레이커가 열린 채로 요청 마감 시간이 지났습니다");
+        }
+        GenerateContentResponse response;
+        try {
+            response = call(prompt, config, estimatedTokens, deadline, hedge);
+        } catch (InterruptedException e) {
+            CIRCUIT_BREAKER.onCancelled(permit);
+            throw e;
+        } catch (Exception e) {
+            if (e instanceof ApiException apiError && apiError.code() == 429) {
+                retryHint(e).ifPresent(quota::pauseFor);
+            }
+            if (isTransient(e)) {
+                CIRCUIT_BREAKER.onFailure(permit);
+            } else {
+                CIRCUIT_BREAKER.onSuccess(permit);
+            }
+            throw e;
+        }
+        CIRCUIT_BREAKER.onSuccess(permit);
+        recordTokenUsage(response, estimatedTokens);
+        return response.text();
+    }
+
+    // 호출마다 마감 시간을 둔다. hedge면 응답이 p95 지연을 넘길 때 남는 슬롯과 할당량으로 같은 요청을 한 번 더 보내
+    // 먼저 온 응답을 쓴다. 늦은 쪽은 백그라운드에서 끝나고 결과는 버린다
+    private GenerateContentResponse call(String prompt, GenerateContentConfig config, int estimatedTokens,
+                                         Deadline deadline, boolean hedge) throws Exception {
+        inFlightRequests.acquire();
+        deadline.start();
+        long startNanos = System.nanoTime();
+        long timeoutNanos = Math.min(deadline.remainingNanos(),
+            TimeUnit.MILLISECONDS.toNanos(CrawlerConfig.GEMINI_CALL_TIMEOUT_MS));
+
+        CompletableFuture<GenerateContentResponse> winner = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger();
+        List<Runnable> permits = new ArrayList<>(2);
+        permits.add(startCall(prompt, config, winner, running, false));
+        try {
+            long hedgeDelayNanos = hedge ? hedgeDelayNanos() : 0;
+            if (hedgeDelayNanos > 0 && hedgeDelayNanos < timeoutNanos) {
+                try {
+                    return winner.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    if (tryAcquireHedge(estimatedTokens)) {
+                        Metrics.GEMINI_HEDGES.increment();
+                        Log.item("🪁 응답이 %dms를 넘어 같은 요청을 한 번 더 보냄",
+                            TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos));
+                        permits.add(startCall(prompt, config, winner, running, true));
+                    }
+                }
+            }
+            return winner.get(Math.max(0, timeoutNanos - (System.nanoTime() - startNanos)), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            Metrics.GEMINI_TIMEOUTS.increment();
+            throw new TimeoutException(String.format("Gemini 응답이 %dms 안에 오지 않았습니다",
+                TimeUnit.NANOSECONDS.toMillis(timeoutNanos)));
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            // 포기했거나 진 호출이 끝나기를 기다리지 않고 슬롯을 돌려준다
+            permits.forEach(Runnable::run);
+        }
+    }
+
+    // hedge는 기다리지 않는다. 슬롯이나 할당량에 지금 여유가 없으면 보내지 않는다
+    private boolean tryAcquireHedge(int estimatedTokens) {
+        if (!inFlightRequests.tryAcquire()) {
+            return false;
+        }
+        if (!quota.tryAcquire(estimatedTokens)) {
+            inFlightRequests.release();
+            return false;
+        }
+        return true;
+    }
+
+    // 표본이 충분히 쌓이기 전에는 hedge하지 않는다
+    private static long hedgeDelayNanos() {
+        if (Metrics.GEMINI_LATENCY.count() < CrawlerConfig.GEMINI_HEDGE_MIN_SAMPLES) {
+            return 0;
+        }
+        long p95Nanos = TimeUnit.MICROSECONDS.toNanos(
+            Metrics.GEMINI_LATENCY.percentileMicros(CrawlerConfig.GEMINI_HEDGE_QUANTILE));
+        return Math.max(p95Nanos, TimeUnit.MILLISECONDS.toNanos(CrawlerConfig.GEMINI_HEDGE_MIN_DELAY_MS));
+    }
+
+    // 이미 얻은 슬롯 하나로 요청을 보내고, 그 슬롯을 한 번만 돌려주는 Runnable을 돌려준다
+    private Runnable startCall(String prompt, GenerateContentConfig config,
+                               CompletableFuture<GenerateContentResponse> winner, AtomicInteger running,
+                               boolean hedged) {
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releasePermit = () -> {
+            if (released.compareAndSet(false, true)) {
+                inFlightRequests.release();
+            }
+        };
+
+        running.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    Client client = connections.take();
+                    GenerateContentResponse response;
+                    try {
+                        // 연결을 빌린 뒤부터 재므로 hedge 기준인 p95에는 연결을 기다린 시간이 들어가지 않는다
+                        long startNanos = System.nanoTime();
+                        response = client.models.generateContent(CrawlerConfig.GEMINI_MODEL, prompt, config);
+                        Metrics.GEMINI_LATENCY.recordSince(startNanos);
+                    } finally {
+                        connections.add(client);
+                    }
+                    if (winner.complete(response) && hedged) {
+                        Metrics.GEMINI_HEDGE_WINS.increment();
+                    }
+                } catch (RuntimeException | InterruptedException e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (running.decrementAndGet() == 0) {
+                        winner.completeExceptionally(e);
+                    }
+                } finally {
+                    releasePermit.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releasePermit.run();
+            if (running.decrementAndGet() == 0) {
+                winner.completeExceptionally(e);
+            }
+        }
+        return releasePermit;
+    }
+
+    private void recordTokenUsage(GenerateContentResponse response, int estimatedTokens) {
+        response.usageMetadata().ifPresent(usage -> {
+            usage.promptTokenCount().ifPresent(promptTokens -> {
+                Metrics.PROMPT_TOKENS.add(promptTokens);
+                quota.reconcile(estimatedTokens, promptTokens);
+            });
+            usage.candidatesTokenCount().ifPresent(Metrics.RESPONSE_TOKENS::add);
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        clients.forEach(Client::close);
     }
 
     private String createFallbackJson(String memeContent) {
@@ -129,7 +647,7 @@ public class GeminiApiClient {
               "usageContext": "정보 없음",
               "trendPeriod": "정보 없음",
               "imgUrl": null,
-              "hashtags": "[\"분석실패\", \"오류\"]"
+              "hashtags": ["#분석실패", "#오류"]
             }
             """, title.replace("\"", "\\\""));
     }
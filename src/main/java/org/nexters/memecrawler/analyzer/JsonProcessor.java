@@ -1,56 +1,188 @@
 package org.nexters.memecrawler.analyzer;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 public class JsonProcessor {
-    
-    public static String extractJsonFromResponse(String response) {
+    private static final JsonFactory jsonFactory = JsonFactory.builder()
+        .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+        .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+        .build();
+    private static final ObjectReader treeReader = new ObjectMapper(jsonFactory).reader();
+
+    // 응답을 한 번 훑어 괄호 짝이 맞는 첫 번째 JSON 객체를 트리로 읽는다.
+    // 객체 안의 문자열은 건너뛰며 세므로 값 속의 '{', '}'나 뒤따르는 설명문에 영향받지 않는다.
+    public static JsonNode parseJsonFromResponse(String response) {
         if (response == null) {
-            return "{}";
+            return treeReader.createObjectNode();
         }
-        
-        String cleaned = response
-            .replaceAll("```json\\s*", "")
-            .replaceAll("```\\s*$", "")
-            .trim();
-        
-        int startIndex = cleaned.indexOf('{');
-        int endIndex = cleaned.lastIndexOf('}');
-        
-        if (startIndex != -1 && endIndex != -1 && endIndex > startIndex) {
-            String extracted = cleaned.substring(startIndex, endIndex + 1);
-            System.out.println("추출된 JSON: " + extracted.substring(0, Math.min(100, extracted.length())) + "...");
-            return extracted;
+
+        JsonNode[] found = new JsonNode[1];
+        scanObjects(response, node -> {
+            found[0] = node;
+            return true;
+        });
+        if (found[0] == null) {
+            System.err.println("JSON 추출 실패: " + response.substring(0, Math.min(200, response.length())));
         }
-        
-        System.err.println("JSON 추출 실패, 원본 응답 사용: " + cleaned.substring(0, Math.min(200, cleaned.length())));
-        return cleaned;
+        return found[0];
     }
 
-    public static String getFieldValue(JsonNode node, String fieldName) {
-        JsonNode fieldNode = node.path(fieldName);
-        if (fieldNode.isMissingNode() || fieldNode.isNull()) {
-            return "정보 없음";
+    // 배치 응답에서 idField를 가진 객체를 모두 모은다. 배열이 중간에 깨져 있어도
+    // 앞쪽의 완결된 객체들은 살리고, 누락된 id는 호출 측에서 다시 요청한다.
+    public static Map<String, JsonNode> parseBatchResponse(String response, String idField) {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        if (response != null) {
+            scanObjects(response, node -> {
+                collectById(node, idField, results);
+                return false;
+            });
         }
-        
-        String value = fieldNode.asText();
-        return value.isEmpty() ? "정보 없음" : value;
+        return results;
+    }
+
+    // 결과를 감싼 객체가 와도 안쪽에서 id를 가진 객체를 찾는다
+    private static void collectById(JsonNode node, String idField, Map<String, JsonNode> results) {
+        String id = node.isObject() ? fieldText(node, idField) : null;
+        if (id != null) {
+            results.putIfAbsent(id, node);
+            return;
+        }
+        for (JsonNode child : node) {
+            if (child.isContainerNode()) {
+                collectById(child, idField, results);
+            }
+        }
+    }
+
+    // 응답을 한 번 훑어 괄호 짝이 맞는 객체 구간을 찾고, 가장 바깥 구간부터 한 번씩만 파싱해 consumer에 넘긴다.
+    // 파싱에 실패한 구간(설명문 속 중괄호 등)이나 끝까지 닫히지 않은 '{' 안에서는 완결된 안쪽 구간을 대신 쓴다.
+    // consumer가 true를 돌려주면 멈춘다.
+    private static void scanObjects(String text, Predicate<JsonNode> consumer) {
+        char[] chars = text.toCharArray();
+        int[] open = new int[16];
+        int depth = 0;
+        // 아직 닫히지 않은 최상위 '{' 안에서 닫힌 구간들. 닫힌 순서라 구간마다 자손이 바로 앞에 붙는다
+        List<Span> closed = new ArrayList<>();
+        boolean inString = false;
+        boolean escaped = false;
+
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                // 객체 밖 설명문의 따옴표는 짝이 맞지 않을 수 있으므로 객체 안에서만 센다
+                inString = depth > 0;
+            } else if (c == '{') {
+                if (depth == open.length) {
+                    open = Arrays.copyOf(open, depth * 2);
+                }
+                open[depth++] = i;
+            } else if (c == '}' && depth > 0) {
+                closed.add(new Span(open[--depth], i + 1));
+                if (depth == 0) {
+                    if (visitOutermost(chars, closed, 0, closed.size(), consumer)) {
+                        return;
+                    }
+                    closed.clear();
+                }
+            }
+        }
+        visitOutermost(chars, closed, 0, closed.size(), consumer);
+    }
+
+    // spans[from, to)에서 다른 구간에 들어 있지 않은 구간들을 문서 순서대로 파싱한다
+    private static boolean visitOutermost(char[] chars, List<Span> spans, int from, int to,
+                                          Predicate<JsonNode> consumer) {
+        // 뒤에서부터 가장 바깥 구간을 고르고, 그 앞에 붙은 자손 범위를 건너뛴다
+        List<int[]> outermost = new ArrayList<>();
+        int index = to - 1;
+        while (index >= from) {
+            int descendants = index - 1;
+            while (descendants >= from && spans.get(descendants).start() > spans.get(index).start()) {
+                descendants--;
+            }
+            outermost.add(new int[]{index, descendants + 1});
+            index = descendants;
+        }
+
+        for (int i = outermost.size() - 1; i >= 0; i--) {
+            int spanIndex = outermost.get(i)[0];
+            int firstDescendant = outermost.get(i)[1];
+            JsonNode node = parseSpan(chars, spans.get(spanIndex));
+            boolean stop = node != null && node.isObject()
+                ? consumer.test(node)
+                : visitOutermost(chars, spans, firstDescendant, spanIndex, consumer);
+            if (stop) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static JsonNode parseSpan(char[] chars, Span span) {
+        try (JsonParser parser = jsonFactory.createParser(chars, span.start(), span.end() - span.start())) {
+            return treeReader.readTree(parser);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // '{'부터 짝이 맞는 '}' 다음까지
+    private record Span(int start, int end) {
+    }
+
+    public static String extractJsonFromResponse(String response) {
+        JsonNode node = parseJsonFromResponse(response);
+        return node != null ? node.toString() : response.trim();
+    }
+
+    public static String getFieldValue(JsonNode node, String fieldName) {
+        String value = fieldText(node, fieldName);
+        return value != null ? value : "정보 없음";
     }
 
     public static String mapFieldValue(JsonNode node, String newFieldName, String oldFieldName) {
-        JsonNode newField = node.path(newFieldName);
-        if (!newField.isMissingNode() && !newField.isNull()) {
-            String value = newField.asText();
-            return value.isEmpty() ? "정보 없음" : value;
+        String value = mapFieldText(node, newFieldName, oldFieldName);
+        return value != null ? value : "정보 없음";
+    }
+
+    public static String fieldText(JsonNode node, String fieldName) {
+        JsonNode fieldNode = node.get(fieldName);
+        if (fieldNode == null || fieldNode.isNull()) {
+            return null;
         }
         
-        JsonNode oldField = node.path(oldFieldName);
-        if (!oldField.isMissingNode() && !oldField.isNull()) {
-            String value = oldField.asText();
-            return value.isEmpty() ? "정보 없음" : value;
+        String value = fieldNode.isTextual() ? fieldNode.textValue() : fieldNode.asText();
+        return value.isEmpty() ? null : value;
+    }
+
+    public static String mapFieldText(JsonNode node, String newFieldName, String oldFieldName) {
+        JsonNode newField = node.get(newFieldName);
+        if (newField != null && !newField.isNull()) {
+            return fieldText(node, newFieldName);
         }
-        
-        return "정보 없음";
+        return fieldText(node, oldFieldName);
     }
 
     public static String escapeCSV(String value) {
@@ -61,4 +193,38 @@ public class JsonProcessor {
         }
         return value;
     }
-}
\ No newline at end of file
+
+    // escapeCSV와 같은 규칙이지만 중간 문자열 없이 바로 기록한다
+    public static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            out.write("정보 없음");
+            return;
+        }
+
+        int length = value.length();
+        boolean needsQuoting = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == ',' || c == '\n') {
+                needsQuoting = true;
+                break;
+            }
+        }
+        if (!needsQuoting) {
+            out.write(value);
+            return;
+        }
+
+        out.write('"');
+        int segmentStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, segmentStart, i - segmentStart + 1);
+                out.write('"');
+                segmentStart = i + 1;
+            }
+        }
+        out.write(value, segmentStart, length - segmentStart);
+        out.write('"');
+    }
+}
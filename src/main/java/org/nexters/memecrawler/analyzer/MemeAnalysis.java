@@ -0,0 +1,111 @@
+package org.nexters.memecrawler.analyzer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.nexters.memecrawler.util.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Gemini 분석 결과. 응답 스키마와 같은 필드를 갖고 hashtags는 문자열 배열이다
+public record MemeAnalysis(String title, String origin, String usageContext, String trendPeriod, String imgUrl,
+                           List<String> hashtags) {
+    private static final ObjectReader treeReader = Json.MAPPER.reader();
+    private static final ObjectReader hashtagsReader = Json.MAPPER.readerForListOf(String.class);
+    private static final ObjectWriter hashtagsWriter = Json.MAPPER.writerFor(List.class);
+    private static final String UNKNOWN = "정보 없음";
+    private static final Pattern YEAR = Pattern.compile("(19|20)\\d{2}");
+
+    public MemeAnalysis {
+        hashtags = hashtags != null ? List.copyOf(hashtags) : List.of();
+    }
+
+    // JSON 응답 모드에서는 본문 전체가 객체지만, 캐시에 남은 예전 자유 형식 응답도 읽을 수 있게 객체를 찾아 읽는다
+    public static MemeAnalysis parse(String response) {
+        JsonNode node = JsonProcessor.parseJsonFromResponse(response);
+        return node != null ? fromJson(node) : null;
+    }
+
+    public static MemeAnalysis read(Path jsonFile) throws IOException {
+        return fromJson(treeReader.readTree(Files.readAllBytes(jsonFile)));
+    }
+
+    // 예전 결과 파일의 name/meaning 필드와 문자열로 저장된 hashtags도 받아들인다
+    public static MemeAnalysis fromJson(JsonNode node) {
+        return new MemeAnalysis(
+            JsonProcessor.mapFieldText(node, "title", "name"),
+            JsonProcessor.fieldText(node, "origin"),
+            JsonProcessor.mapFieldText(node, "usageContext", "meaning"),
+            JsonProcessor.fieldText(node, "trendPeriod"),
+            JsonProcessor.fieldText(node, "imgUrl"),
+            hashtagsOf(node.get("hashtags")));
+    }
+
+    private static List<String> hashtagsOf(JsonNode node) {
+        List<String> hashtags = new ArrayList<>();
+        if (node == null || node.isNull()) {
+            return hashtags;
+        }
+        if (node.isArray()) {
+            node.forEach(tag -> addHashtag(hashtags, tag.asText()));
+            return hashtags;
+        }
+
+        String text = node.asText().trim();
+        try {
+            for (String tag : hashtagsReader.<List<String>>readValue(text)) {
+                addHashtag(hashtags, tag);
+            }
+        } catch (IOException e) {
+            // 배열 형식이 아니면 쉼표/공백으로 나눈다
+            for (String tag : text.replaceAll("[\\[\\]\"]", "").split("[,\\s]+")) {
+                addHashtag(hashtags, tag);
+            }
+        }
+        return hashtags;
+    }
+
+    private static void addHashtag(List<String> hashtags, String tag) {
+        String trimmed = tag == null ? "" : tag.trim();
+        if (!trimmed.isEmpty()) {
+            hashtags.add(trimmed.startsWith("#") ? trimmed : "#" + trimmed);
+        }
+    }
+
+    // 스키마 계약을 어긴 항목. 비어 있으면 그대로 저장해도 된다
+    public List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        requireText(violations, "title", title);
+        requireText(violations, "origin", origin);
+        requireText(violations, "usageContext", usageContext);
+        requireText(violations, "trendPeriod", trendPeriod);
+        if (trendPeriod != null && !UNKNOWN.equals(trendPeriod) && !YEAR.matcher(trendPeriod).find()) {
+            violations.add("trendPeriod에 연도(YYYY)가 없습니다");
+        }
+        if (hashtags.isEmpty()) {
+            violations.add("hashtags가 비어 있습니다");
+        }
+        return violations;
+    }
+
+    private static void requireText(List<String> violations, String field, String value) {
+        if (value == null || value.isBlank()) {
+            violations.add(field + " 값이 없습니다");
+        }
+    }
+
+    // CSV에는 예전과 같이 JSON 배열 문자열로 기록한다
+    public String hashtagsJson() {
+        try {
+            return hashtagsWriter.writeValueAsString(hashtags);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
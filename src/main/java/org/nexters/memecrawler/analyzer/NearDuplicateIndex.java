@@ -0,0 +1,151 @@
+package org.nexters.memecrawler.analyzer;
+
+import org.nexters.memecrawler.config.CrawlerConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// 본문 MinHash 서명을 밴드로 나눠 버킷에 넣고, 같은 버킷에 걸린 후보만 서명 일치율로 확인한다.
+// 리다이렉트/별칭 문서처럼 제목만 다르고 본문이 거의 같은 밈을 API 호출 전에 걸러낸다.
+public class NearDuplicateIndex<T> {
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = 8;
+    private static final int SIGNATURE_LENGTH = BANDS * ROWS_PER_BAND;
+    private static final int SHINGLE_LENGTH = 5;
+    private static final long[] MULTIPLIERS = new long[SIGNATURE_LENGTH];
+    private static final long[] INCREMENTS = new long[SIGNATURE_LENGTH];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x4D454D45L);
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1L;
+            INCREMENTS[i] = random.nextLong();
+        }
+    }
+
+    private final List<long[]> signatures = new ArrayList<>();
+    private final List<T> values = new ArrayList<>();
+    private final Map<Long, List<Integer>> buckets = new HashMap<>();
+
+    // 제목/출처 줄은 별칭마다 다르므로 본문만 비교한다. 너무 짧은 본문은 null
+    public static long[] signature(String cleanText) {
+        String body = normalizedBody(cleanText);
+        if (body.length() < CrawlerConfig.NEAR_DUPLICATE_MIN_CHARS) {
+            return null;
+        }
+
+        long[] signature = new long[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (int start = 0; start + SHINGLE_LENGTH <= body.length(); start++) {
+            long shingle = shingleHash(body, start);
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                long hash = mix(shingle * MULTIPLIERS[i] + INCREMENTS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(long[] a, long[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_LENGTH;
+    }
+
+    public synchronized T findDuplicate(long[] signature) {
+        if (signature == null) {
+            return null;
+        }
+        T best = null;
+        double bestSimilarity = CrawlerConfig.NEAR_DUPLICATE_THRESHOLD;
+        for (int band = 0; band < BANDS; band++) {
+            List<Integer> candidates = buckets.get(bandKey(signature, band));
+            if (candidates == null) {
+                continue;
+            }
+            for (int candidate : candidates) {
+                double similarity = similarity(signature, signatures.get(candidate));
+                if (similarity >= bestSimilarity) {
+                    bestSimilarity = similarity;
+                    best = values.get(candidate);
+                }
+            }
+        }
+        return best;
+    }
+
+    public synchronized void add(long[] signature, T value) {
+        if (signature == null) {
+            return;
+        }
+        int id = signatures.size();
+        signatures.add(signature);
+        values.add(value);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(1)).add(id);
+        }
+    }
+
+    public synchronized int size() {
+        return signatures.size();
+    }
+
+    private static String normalizedBody(String cleanText) {
+        StringBuilder body = new StringBuilder(cleanText.length());
+        for (String line : cleanText.split("\n")) {
+            if (line.startsWith("제목:") || line.startsWith("출처:") || line.startsWith("페이지 제목:")) {
+                continue;
+            }
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    if (body.length() > 0 && body.charAt(body.length() - 1) != ' ') {
+                        body.append(' ');
+                    }
+                } else {
+                    body.append(Character.toLowerCase(c));
+                }
+            }
+            if (body.length() > 0 && body.charAt(body.length() - 1) != ' ') {
+                body.append(' ');
+            }
+        }
+        return body.toString();
+    }
+
+    private static long shingleHash(String body, int start) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < start + SHINGLE_LENGTH; i++) {
+            hash ^= body.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long hash = band;
+        for (int row = band * ROWS_PER_BAND; row < (band + 1) * ROWS_PER_BAND; row++) {
+            hash = mix(hash * 31 + signature[row]);
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
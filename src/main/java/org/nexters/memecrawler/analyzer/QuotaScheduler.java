@@ -0,0 +1,119 @@
+package org.nexters.memecrawler.analyzer;
+
+import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.util.Log;
+import org.nexters.memecrawler.util.TokenBucket;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// 분당 요청 수(RPM)와 분당 입력 토큰 수(TPM)를 두 토큰 버킷으로 함께 지킨다.
+// 요청은 할당량 한도에 맞춰 고르게 나가므로 429로 멈췄다 몰리는 일이 없다
+public class QuotaScheduler {
+    private static final QuotaScheduler SHARED = new QuotaScheduler(
+        CrawlerConfig.GEMINI_REQUESTS_PER_MINUTE, CrawlerConfig.GEMINI_TOKENS_PER_MINUTE);
+
+    // UTF-8 한글은 글자당 3바이트이고 TokenEstimator 기준 글자당 1토큰이다
+    private static final int UTF8_BYTES_PER_TOKEN = 3;
+
+    private final int requestsPerMinute;
+    private final int tokensPerMinute;
+    private final TokenBucket requests;
+    private final TokenBucket tokens;
+
+    public QuotaScheduler(int requestsPerMinute, int tokensPerMinute) {
+        this.requestsPerMinute = requestsPerMinute;
+        this.tokensPerMinute = tokensPerMinute;
+        // 1초 분량까지만 몰아 쓸 수 있게 해서 분 단위 창의 앞부분에 요청이 쏠리지 않게 한다
+        this.requests = new TokenBucket(requestsPerMinute / 60.0, Math.max(1.0, requestsPerMinute / 60.0));
+        this.tokens = new TokenBucket(tokensPerMinute / 60.0, tokensPerMinute / 60.0);
+    }
+
+    public static QuotaScheduler shared() {
+        return SHARED;
+    }
+
+    // 파일 크기로 요청 한 건의 입력 토큰 수를 어림한다. 본문은 ContentReducer가 입력 예산까지 줄인다
+    public static int estimateTokens(long fileBytes) {
+        long contentTokens = Math.min(fileBytes / UTF8_BYTES_PER_TOKEN, CrawlerConfig.ANALYSIS_INPUT_TOKEN_BUDGET);
+        return (int) contentTokens + GeminiApiClient.PROMPT_OVERHEAD_TOKENS;
+    }
+
+    // 요청 한 건과 토큰 estimatedTokens개를 두 버킷에서 함께 예약하고 더 늦은 쪽까지 기다린다
+    public void acquire(int estimatedTokens) throws InterruptedException {
+        long waitNanos = Math.max(requests.reserve(1), tokens.reserve(estimatedTokens));
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    // hedge처럼 지금 여유가 있을 때만 보낼 요청용. 두 버킷 모두 여유가 있을 때만 가져가고,
+    // 토큰 쪽에서 실패하면 먼저 가져간 요청 한 건 몫을 돌려준다
+    public boolean tryAcquire(int estimatedTokens) {
+        if (!requests.tryAcquire(1)) {
+            return false;
+        }
+        if (!tokens.tryAcquire(estimatedTokens)) {
+            requests.refund(1);
+            return false;
+        }
+        return true;
+    }
+
+    // 받은 할당량으로 요청을 보내지 못했으면 두 버킷에 모두 돌려준다
+    public void refund(int estimatedTokens) {
+        requests.refund(1);
+        tokens.refund(estimatedTokens);
+    }
+
+    // 실제 입력 토큰이 어림보다 많았으면 차이만큼 뒤 요청을 늦춘다
+    public void reconcile(int estimatedTokens, long actualTokens) {
+        if (actualTokens > estimatedTokens) {
+            tokens.reserve(actualTokens - estimatedTokens);
+        }
+    }
+
+    // 서버가 할당량 초과로 재시도 시점을 알려 주면 그때까지 모든 요청을 멈춘다
+    public void pauseFor(Duration delay) {
+        requests.pauseFor(delay.toNanos());
+        tokens.pauseFor(delay.toNanos());
+    }
+
+    // 할당량만으로 정해지는 최소 소요 시간. 요청 수와 토큰 수 중 더 빡빡한 쪽이 결정한다
+    public Duration minimumMakespan(int requestCount, long totalTokens) {
+        double minutes = Math.max((double) requestCount / requestsPerMinute, (double) totalTokens / tokensPerMinute);
+        return Duration.ofMillis((long) (minutes * 60_000));
+    }
+
+    // 긴 작업부터 최대 maxActive개씩 시작하고 모두 끝날 때까지 기다린다.
+    // 마지막에 긴 작업 하나만 남아 꼬리가 늘어지는 것을 막고, 시작 전 작업의 마감 시간이 흐르지 않게 한다
+    public <T> void runLongestFirst(List<T> jobs, ToIntFunction<T> estimatedTokens, int maxActive,
+                                    Function<T, CompletableFuture<Void>> start) {
+        List<T> ordered = new ArrayList<>(jobs);
+        ordered.sort(Comparator.comparingInt(estimatedTokens).reversed());
+
+        long totalTokens = 0;
+        for (T job : ordered) {
+            totalTokens += estimatedTokens.applyAsInt(job);
+        }
+        Duration makespan = minimumMakespan(ordered.size(), totalTokens);
+        Log.info("📐 요청 %d건, 입력 토큰 약 %d개: 할당량(%d RPM, %d TPM) 기준 예상 소요 시간 %d분 %d초",
+            ordered.size(), totalTokens, requestsPerMinute, tokensPerMinute,
+            makespan.toMinutes(), makespan.toSecondsPart());
+
+        Semaphore active = new Semaphore(maxActive);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(ordered.size());
+        for (T job : ordered) {
+            active.acquireUninterruptibly();
+            futures.add(start.apply(job).whenComplete((ignored, error) -> active.release()));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
+    }
+}
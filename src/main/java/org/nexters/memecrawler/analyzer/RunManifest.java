@@ -0,0 +1,179 @@
+package org.nexters.memecrawler.analyzer;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import org.nexters.memecrawler.util.FileUtils;
+import org.nexters.memecrawler.util.Json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 분석 실행 기록. 입력 파일마다 내용 해시, 상태, 출력 경로를 한 줄씩 이어 쓰고 같은 입력은 마지막 줄이 유효하다
+public class RunManifest implements AutoCloseable {
+    public static final String STATUS_SUCCESS = "success";
+    public static final String STATUS_FAILED = "failed";
+
+    private static final ObjectReader entryReader = Json.MAPPER.readerFor(Entry.class);
+    private static final ObjectWriter entryWriter = Json.MAPPER.writerFor(Entry.class);
+
+    // duplicateOf: 거의 같은 본문의 기존 분석 결과를 재사용한 경우 원본 입력
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Entry(String input, String hash, String status, String output, String error, String duplicateOf) {
+        @JsonIgnore
+        public boolean isSuccess() {
+            return STATUS_SUCCESS.equals(status);
+        }
+    }
+
+    private final Path file;
+    // 열려 있는 동안만 있는 표시 파일. 열 때 남아 있으면 이전 실행이 close 없이 끝난 것이다
+    private final Path openMarker;
+    private final boolean uncleanShutdown;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final BufferedWriter log;
+    private int logLines;
+    private boolean supersededSuccess;
+
+    public RunManifest(String fileName) throws IOException {
+        this.file = Path.of(fileName);
+        this.openMarker = file.resolveSibling(file.getFileName() + ".open");
+        this.uncleanShutdown = Files.exists(openMarker);
+        Files.write(openMarker, new byte[0]);
+        boolean tornTail = false;
+        if (Files.exists(file)) {
+            load();
+            tornTail = !FileUtils.endsWithNewline(file);
+        }
+        this.log = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (tornTail) {
+            log.write('\n');
+        }
+    }
+
+    private void load() throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Entry entry = entryReader.readValue(line);
+                entries.put(entry.input(), entry);
+                logLines++;
+            } catch (IOException e) {
+                // 기록 도중 끊긴 줄은 해당 입력을 미완료로 보고 다시 처리한다
+            }
+        }
+    }
+
+    // 같은 내용으로 이미 성공했고 출력 파일이 남아 있으면 다시 분석하지 않는다
+    public synchronized boolean isComplete(String input, String hash) {
+        Entry entry = entries.get(input);
+        return entry != null && entry.isSuccess() && entry.hash().equals(hash)
+            && entry.output() != null && Files.exists(Path.of(entry.output()));
+    }
+
+    public synchronized void recordSuccess(String input, String hash, String output) {
+        Entry previous = entries.get(input);
+        if (previous != null && previous.isSuccess()) {
+            supersededSuccess = true;
+        }
+        append(new Entry(input, hash, STATUS_SUCCESS, output, null, null));
+    }
+
+    public synchronized void recordDuplicate(String input, String hash, String original) {
+        Entry previous = entries.get(input);
+        if (previous != null && previous.isSuccess()) {
+            supersededSuccess = true;
+        }
+        append(new Entry(input, hash, STATUS_SUCCESS, outputOf(original), null, original));
+    }
+
+    // 성공한 입력의 출력 경로. 없으면 null
+    public synchronized String outputOf(String input) {
+        Entry entry = entries.get(input);
+        return entry != null && entry.isSuccess() ? entry.output() : null;
+    }
+
+    public synchronized void recordFailure(String input, String hash, String error) {
+        Entry previous = entries.get(input);
+        if (previous != null && previous.isSuccess()) {
+            supersededSuccess = true;
+        }
+        append(new Entry(input, hash, STATUS_FAILED, null, error, null));
+    }
+
+    // 이전 실행이 중간에 죽었으면 이어 쓴 CSV가 실행 기록과 어긋났을 수 있으므로 다시 만들어야 한다
+    public boolean wasUncleanlyClosed() {
+        return uncleanShutdown;
+    }
+
+    // 이전 성공 결과가 새 결과로 바뀌었으면 이어 쓴 CSV에 옛 행이 남아 있으므로 다시 만들어야 한다
+    public synchronized boolean hasSupersededSuccess() {
+        return supersededSuccess;
+    }
+
+    // 중복으로 연결된 입력은 원본과 같은 출력을 가리키므로 한 번만 센다
+    public synchronized List<Path> successfulOutputs() {
+        Set<Path> outputs = new LinkedHashSet<>();
+        for (Entry entry : entries.values()) {
+            if (entry.isSuccess() && entry.output() != null) {
+                outputs.add(Path.of(entry.output()));
+            }
+        }
+        return new ArrayList<>(outputs);
+    }
+
+    public synchronized int successCount() {
+        return (int) entries.values().stream().filter(Entry::isSuccess).count();
+    }
+
+    private void append(Entry entry) {
+        entries.put(entry.input(), entry);
+        try {
+            log.write(entryWriter.writeValueAsString(entry));
+            log.write('\n');
+            log.flush();
+            logLines++;
+        } catch (IOException e) {
+            System.err.println("실행 기록 저장 실패: " + e.getMessage());
+        }
+    }
+
+    // 덮어쓴 줄이 많아지면 입력별 최신 상태만 남겨 다시 쓴다
+    private void compact() throws IOException {
+        if (logLines <= entries.size()) {
+            return;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Entry entry : entries.values()) {
+                writer.write(entryWriter.writeValueAsString(entry));
+                writer.write('\n');
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.close();
+        compact();
+        Files.deleteIfExists(openMarker);
+    }
+}
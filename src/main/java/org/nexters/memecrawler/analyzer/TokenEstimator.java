@@ -0,0 +1,47 @@
+package org.nexters.memecrawler.analyzer;
+
+// Gemini 토크나이저 기준 대략치: 한글 등 비ASCII 문자는 글자당 1토큰, ASCII는 4글자당 1토큰
+public class TokenEstimator {
+    private static final int ASCII_CHARS_PER_TOKEN = 4;
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+
+        int asciiChars = 0;
+        int otherChars = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 0x80) {
+                asciiChars++;
+            } else {
+                otherChars++;
+            }
+        }
+        return otherChars + (asciiChars + ASCII_CHARS_PER_TOKEN - 1) / ASCII_CHARS_PER_TOKEN;
+    }
+
+    // 추정 토큰 수가 maxTokens를 넘지 않도록 자르되, 가능하면 공백 경계에서 끊는다
+    public static String truncate(String text, int maxTokens) {
+        if (estimate(text) <= maxTokens) {
+            return text;
+        }
+
+        int budget = maxTokens * ASCII_CHARS_PER_TOKEN;
+        int end = 0;
+        while (end < text.length()) {
+            int cost = text.charAt(end) < 0x80 ? 1 : ASCII_CHARS_PER_TOKEN;
+            if (cost > budget) {
+                break;
+            }
+            budget -= cost;
+            end++;
+        }
+
+        int lastSpace = text.lastIndexOf(' ', end);
+        if (lastSpace > end / 2) {
+            end = lastSpace;
+        }
+        return text.substring(0, end).trim();
+    }
+}
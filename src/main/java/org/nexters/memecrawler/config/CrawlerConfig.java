@@ -4,17 +4,83 @@ public class CrawlerConfig {
     public static final String BASE_URL = "https://namu.wiki";
     public static final String TARGET_URL = "https://namu.wiki/w/%EB%B0%88(%EC%9D%B8%ED%84%B0%EB%84%B7%20%EC%9A%A9%EC%96%B4)/%EB%8C%80%ED%95%9C%EB%AF%BC%EA%B5%AD";
     
-    public static final int RATE_LIMIT_MS = 2000;
-    public static final int FAST_RATE_LIMIT_MS = 500;
+    public static final double INITIAL_REQUESTS_PER_SECOND = 1.0;
+    public static final double MIN_REQUESTS_PER_SECOND = 0.2;
+    public static final double MAX_REQUESTS_PER_SECOND = 8.0;
+    public static final double RATE_ADDITIVE_INCREASE = 0.1;
+    public static final double RATE_DECREASE_FACTOR = 0.5;
+    public static final double LATENCY_DECREASE_FACTOR = 0.8;
+    public static final double LATENCY_BACKOFF_RATIO = 2.0;
     public static final int NETWORK_TIMEOUT_MS = 15000;
+    public static final int MAX_CONCURRENT_REQUESTS_PER_HOST = 4;
+    public static final int MAX_FETCH_RETRIES = 3;
+    public static final int MAX_CRAWL_DEPTH = 2;
+    public static final String FRONTIER_STATE_FILE = "crawl_frontier.log";
     
-    public static final String RAW_DATA_FILE = "raw_meme_data.json";
+    public static final String RAW_DATA_FILE = "raw_meme_data.jsonl";
+    public static final String LEGACY_RAW_DATA_FILE = "raw_meme_data.json";
+    public static final int JSONL_FLUSH_INTERVAL = 20;
+    public static final int MAX_PENDING_PAGES = 64;
     public static final String DETAILED_DATA_DIR = "detailed_meme_data";
+    public static final String DETAILED_STORE_DIR = "detailed_meme_store";
+    public static final long SEGMENT_MAX_BYTES = 64L * 1024 * 1024;
     public static final String CLEAN_TEXT_DIR = "clean_text_data";
     public static final String ANALYZED_DATA_DIR = "analyzed_meme_data_json";
+    public static final String HTTP_CACHE_DIR = "http_cache";
+    public static final String RESPONSE_ARCHIVE_DIR = "response_archive";
+    public static final long ARCHIVE_MAX_FILE_BYTES = 256L * 1024 * 1024;
+    // -Dmemecrawler.archive=false 로 응답 보관을 끈다
+    public static final boolean ARCHIVE_RESPONSES = Boolean.parseBoolean(System.getProperty("memecrawler.archive", "true"));
     public static final String CSV_OUTPUT_FILE = "meme_analysis_results.csv";
+    public static final String ANALYSIS_MANIFEST_FILE = "analysis_manifest.jsonl";
+    public static final String ANALYSIS_CACHE_FILE = "analysis_cache.jsonl";
+    public static final int ANALYSIS_CACHE_MEMORY_ENTRIES = 1024;
+    public static final String SEARCH_INDEX_DIR = "search_index";
+    public static final int SEARCH_MAX_BUFFERED_POSTINGS = 1_000_000;
+    public static final int SEARCH_MAX_SEGMENTS = 8;
+    public static final int SEARCH_RESULT_LIMIT = 10;
     
-    public static final int THREAD_POOL_SIZE = 10;
+    public static final String GEMINI_MODEL = "gemini-2.5-flash";
+    public static final int MAX_IN_FLIGHT_API_REQUESTS = 10;
     public static final int MAX_API_RETRIES = 3;
-    public static final long API_RETRY_DELAY_MS = 2000;
-}
\ No newline at end of file
+    public static final long API_RETRY_DELAY_MS = Long.getLong("memecrawler.gemini.retryDelayMs", 2000);
+    public static final long API_RETRY_MAX_DELAY_MS = 60_000;
+    // 시간 값은 -Dmemecrawler.gemini.*Ms로 바꿀 수 있다. 로컬 대역 서버 테스트가 짧은 값으로 돌린다
+    public static final long GEMINI_CALL_TIMEOUT_MS = Long.getLong("memecrawler.gemini.callTimeoutMs", 90_000);
+    public static final long GEMINI_REQUEST_DEADLINE_MS = Long.getLong("memecrawler.gemini.deadlineMs", 300_000);
+    public static final double GEMINI_HEDGE_QUANTILE = 0.95;
+    public static final int GEMINI_HEDGE_MIN_SAMPLES = 20;
+    public static final long GEMINI_HEDGE_MIN_DELAY_MS = Long.getLong("memecrawler.gemini.hedgeMinDelayMs", 2000);
+    public static final int GEMINI_CIRCUIT_WINDOW = 20;
+    public static final int GEMINI_CIRCUIT_MIN_CALLS = 10;
+    public static final double GEMINI_CIRCUIT_FAILURE_RATE = 0.5;
+    public static final long GEMINI_CIRCUIT_OPEN_MS = Long.getLong("memecrawler.gemini.circuitOpenMs", 30_000);
+    public static final int GEMINI_CIRCUIT_PROBES = 2;
+    // 기본값은 gemini-2.5-flash 무료 등급. -Dmemecrawler.gemini.rpm=1000 -Dmemecrawler.gemini.tpm=1000000 처럼 등급에 맞춘다
+    public static final int GEMINI_REQUESTS_PER_MINUTE = Integer.getInteger("memecrawler.gemini.rpm", 10);
+    public static final int GEMINI_TOKENS_PER_MINUTE = Integer.getInteger("memecrawler.gemini.tpm", 250_000);
+    // SDK 클라이언트 하나가 같은 호스트로 여는 연결 수(Apache 풀 기본값). SDK가 바꿀 방법을 열어 두지 않았다
+    public static final int GEMINI_CONNECTIONS_PER_CLIENT = 2;
+    public static final int BATCH_CONTENT_TOKEN_BUDGET = 12000;
+    public static final int MAX_BATCH_SIZE = 8;
+    public static final int ANALYSIS_INPUT_TOKEN_BUDGET = 3000;
+    public static final double NEAR_DUPLICATE_THRESHOLD = 0.85;
+    public static final int NEAR_DUPLICATE_MIN_CHARS = 200;
+
+    public static final int PIPELINE_QUEUE_CAPACITY = 64;
+    public static final int PIPELINE_FETCH_WORKERS = 16;
+    public static final int PIPELINE_EXTRACT_WORKERS = Runtime.getRuntime().availableProcessors();
+    public static final int PIPELINE_ANALYZE_WORKERS = MAX_IN_FLIGHT_API_REQUESTS;
+
+    // -Dmemecrawler.logLevel=DEBUG 로 파일별 진행 로그 출력
+    public static final String LOG_LEVEL = System.getProperty("memecrawler.logLevel", "INFO");
+    public static final int METRICS_PORT = Integer.getInteger("memecrawler.metrics.port", 0);
+    public static final String METRICS_SNAPSHOT_FILE = System.getProperty("memecrawler.metrics.snapshotFile", "");
+    public static final long METRICS_SNAPSHOT_INTERVAL_SECONDS = 10;
+
+    // -Dmemecrawler.gemini.baseUrl=http://localhost:8089 로 로컬 대역 서버에 붙는다.
+    // 클라이언트를 만들 때마다 읽으므로 테스트가 대역 서버 포트를 정한 뒤에 설정해도 된다
+    public static String geminiBaseUrl() {
+        return System.getProperty("memecrawler.gemini.baseUrl", "");
+    }
+}
@@ -2,79 +2,118 @@ package org.nexters.memecrawler.crawler;
 
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.nexters.memecrawler.config.CrawlerConfig;
-import org.nexters.memecrawler.util.FileUtils;
+import org.nexters.memecrawler.model.RawMemePage;
+import org.nexters.memecrawler.network.FetchEngine;
+import org.nexters.memecrawler.util.Log;
 import org.nexters.memecrawler.util.NetworkUtils;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class BasicMemeCrawler {
+    private final FetchEngine fetchEngine;
     private final NetworkUtils networkUtils;
 
     public BasicMemeCrawler() {
-        this.networkUtils = new NetworkUtils();
+        this(FetchEngine.shared());
+    }
+
+    public BasicMemeCrawler(FetchEngine fetchEngine) {
+        this.fetchEngine = fetchEngine;
+        this.networkUtils = new NetworkUtils(fetchEngine);
     }
 
     public List<String> crawlMemeLinks() throws IOException {
-        networkUtils.enforceRateLimit(CrawlerConfig.RATE_LIMIT_MS);
-        
-        System.out.println("Crawling main page: " + CrawlerConfig.TARGET_URL);
-        Document doc = networkUtils.fetchDocument(CrawlerConfig.TARGET_URL);
-
-        List<String> memeLinks = new ArrayList<>();
-        Elements links = doc.select("a[href^='/w/']");
-        
-        for (Element link : links) {
-            String href = link.attr("href");
-            if (isValidMemeLink(href)) {
-                String fullUrl = CrawlerConfig.BASE_URL + href;
-                if (!memeLinks.contains(fullUrl)) {
-                    memeLinks.add(fullUrl);
+        try (UrlFrontier frontier = UrlFrontier.inMemory()) {
+            return crawlMemeLinks(frontier);
+        }
+    }
+
+    // 목록/분류 페이지를 깊이 제한 BFS로 펼치고, 아직 수집하지 않은 밈 문서 URL을 돌려준다
+    public List<String> crawlMemeLinks(UrlFrontier frontier) throws IOException {
+        discoverMemeLinks(frontier, url -> { });
+
+        List<String> memeLinks = frontier.pendingMemeUrls();
+        System.out.println("Found " + memeLinks.size() + " meme links to crawl (" + frontier.seenCount() + " URLs seen)");
+        return memeLinks;
+    }
+
+    // 밈 문서 URL을 발견하는 즉시 넘긴다. 이전 실행에서 발견만 하고 수집하지 못한 URL이 먼저 나온다
+    public void discoverMemeLinks(UrlFrontier frontier, Consumer<String> onMemeLink) throws IOException {
+        frontier.pendingMemeUrls().forEach(onMemeLink);
+
+        String seedUrl = UrlCanonicalizer.canonicalize(CrawlerConfig.TARGET_URL);
+        String seedDocumentName = UrlCanonicalizer.documentName(seedUrl);
+        if (frontier.isEmpty()) {
+            frontier.offer(seedUrl, 0, UrlCanonicalizer.PageKind.LIST);
+        }
+
+        List<UrlFrontier.Entry> level;
+        while (!(level = frontier.pollExpandLevel()).isEmpty()) {
+            System.out.println("Expanding " + level.size() + " list/category pages at depth " + level.get(0).depth());
+            List<CompletableFuture<Document>> pages = level.stream()
+                .map(entry -> fetchEngine.fetch(entry.url()))
+                .toList();
+
+            for (int i = 0; i < level.size(); i++) {
+                UrlFrontier.Entry entry = level.get(i);
+                try {
+                    expand(frontier, entry, FetchEngine.await(pages.get(i)), seedDocumentName, onMemeLink);
+                    frontier.markDone(entry.url());
+                } catch (IOException e) {
+                    if (FetchEngine.isPermanentFailure(e)) {
+                        frontier.markFailed(entry.url());
+                    }
+                    System.err.println("Error expanding " + entry.url() + ": " + e.getMessage());
                 }
             }
         }
-        
-        System.out.println("Found " + memeLinks.size() + " meme links");
-        return memeLinks;
     }
 
-    public Map<String, Object> crawlRawMemeData(String url) throws IOException {
-        networkUtils.enforceRateLimit(CrawlerConfig.RATE_LIMIT_MS);
-        
-        System.out.println("Crawling: " + url);
-        Document doc = networkUtils.fetchDocument(url);
-
-        Map<String, Object> rawData = new HashMap<>();
-        rawData.put("url", url);
-        rawData.put("title", doc.title());
-        
-        Element content = doc.selectFirst(".wiki-content");
-        if (content != null) {
-            rawData.put("content", content.html());
+    private void expand(UrlFrontier frontier, UrlFrontier.Entry entry, Document doc, String seedDocumentName,
+                        Consumer<String> onMemeLink) throws IOException {
+        // 분류 문서의 소속 문서 목록은 본문(.wiki-content) 밖, 같은 article 안에 붙는다.
+        // 사이드바나 추천 문서 링크를 따라가지 않도록 본문 영역 밖은 보지 않는다
+        Element root = entry.kind() == UrlCanonicalizer.PageKind.CATEGORY
+            ? doc.selectFirst("article:has(.wiki-content)")
+            : doc.selectFirst(".wiki-content");
+        if (root == null) {
+            System.err.println("No content area found on " + entry.url() + ", skipping its links");
+            return;
         }
-        
-        Elements images = doc.select("img[src]");
-        List<String> imageUrls = new ArrayList<>();
-        for (Element img : images) {
-            String src = img.attr("src");
-            if (src.startsWith("http")) {
-                imageUrls.add(src);
+
+        int childDepth = entry.depth() + 1;
+        for (Element link : root.select("a[href]")) {
+            if (link.closest("header, nav, footer") != null) {
+                continue;
+            }
+            String url = UrlCanonicalizer.canonicalize(link.attr("href"));
+            if (url == null) {
+                continue;
+            }
+
+            UrlCanonicalizer.PageKind kind = UrlCanonicalizer.classify(url, seedDocumentName);
+            if (kind != UrlCanonicalizer.PageKind.MEME && childDepth > CrawlerConfig.MAX_CRAWL_DEPTH) {
+                continue;
+            }
+            if (frontier.offer(url, childDepth, kind)) {
+                Log.item("Discovered %s (%s, depth %d)", url, kind, childDepth);
+                if (kind == UrlCanonicalizer.PageKind.MEME) {
+                    onMemeLink.accept(url);
+                }
             }
         }
-        rawData.put("images", imageUrls);
-        
-        return rawData;
     }
 
-    public void saveRawDataToJson(List<Map<String, Object>> rawDataList, String filename) throws IOException {
-        FileUtils.saveJsonToFile(rawDataList, filename);
-        System.out.println("Raw data saved to: " + filename);
+    public RawMemePage crawlRawMemeData(String url) throws IOException {
+        Log.item("Crawling: %s", url);
+        return extractRawMemeData(networkUtils.fetchDocument(url), url);
     }
 
-    private boolean isValidMemeLink(String href) {
-        return href.startsWith("/w/") && 
-               !href.equals("/w/%EB%B0%88(%EC%9D%B8%ED%84%B0%EB%84%B7%20%EC%9A%A9%EC%96%B4)/%EB%8C%80%ED%95%9C%EB%AF%BC%EA%B5%AD");
+    public RawMemePage extractRawMemeData(Document doc, String url) {
+        return PageExtractor.extract(doc, url, doc.title()).rawPage();
     }
-}
\ No newline at end of file
+}
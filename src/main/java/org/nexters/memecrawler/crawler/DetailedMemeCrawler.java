@@ -1,153 +1,89 @@
 package org.nexters.memecrawler.crawler;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.model.DetailedMemePage;
+import org.nexters.memecrawler.model.RawMemePage;
+import org.nexters.memecrawler.network.FetchEngine;
+import org.nexters.memecrawler.storage.DetailedDataStore;
 import org.nexters.memecrawler.util.FileUtils;
-import org.nexters.memecrawler.util.NetworkUtils;
+import org.nexters.memecrawler.util.Log;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
 
 public class DetailedMemeCrawler {
-    private final NetworkUtils networkUtils;
+    private final FetchEngine fetchEngine;
 
     public DetailedMemeCrawler() {
-        this.networkUtils = new NetworkUtils();
+        this(FetchEngine.shared());
+    }
+
+    public DetailedMemeCrawler(FetchEngine fetchEngine) {
+        this.fetchEngine = fetchEngine;
     }
 
     public void crawlDetailedMemePagesFromJson(String inputJsonFile) throws IOException {
         System.out.println("Reading raw meme data from: " + inputJsonFile);
         
-        List<Map<String, Object>> rawMemeList = FileUtils.loadJsonListFromFile(inputJsonFile);
-        System.out.println("Found " + rawMemeList.size() + " memes to crawl in detail");
-        
-        FileUtils.ensureDirectoryExists(CrawlerConfig.DETAILED_DATA_DIR);
-        
-        for (int i = 0; i < rawMemeList.size(); i++) {
-            processMemeData(rawMemeList.get(i), i + 1, rawMemeList.size());
+        Semaphore pendingPages = new Semaphore(CrawlerConfig.MAX_PENDING_PAGES);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try (MappingIterator<RawMemePage> records = FileUtils.readJsonRecords(inputJsonFile);
+             DetailedDataStore detailedStore = DetailedDataStore.open()) {
+            int index = 0;
+            while (records.hasNextValue()) {
+                RawMemePage memeInfo = records.nextValue();
+                pendingPages.acquireUninterruptibly();
+                futures.add(processMemeData(memeInfo, ++index, detailedStore)
+                    .whenComplete((ignored, error) -> pendingPages.release()));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
         }
         
         System.out.println("Detailed crawling completed!");
     }
 
-    private void processMemeData(Map<String, Object> memeInfo, int current, int total) {
-        String url = (String) memeInfo.get("url");
-        String title = (String) memeInfo.get("title");
+    private CompletableFuture<Void> processMemeData(RawMemePage memeInfo, int current,
+                                                    DetailedDataStore detailedStore) {
+        String url = memeInfo.url();
+        String title = memeInfo.title();
         
         if (url == null || title == null) {
-            System.err.println("Skipping meme with missing url or title: " + memeInfo);
-            return;
-        }
-        
-        try {
-            System.out.println("Progress: " + current + "/" + total + " - Crawling: " + title);
-            
-            networkUtils.enforceRateLimit(CrawlerConfig.RATE_LIMIT_MS);
-            Document doc = networkUtils.fetchDocument(url, CrawlerConfig.NETWORK_TIMEOUT_MS);
-            
-            Map<String, Object> detailedData = extractDetailedData(doc, url, title);
-            saveDetailedData(detailedData, title);
-            
-            System.out.println("Saved detailed data for: " + title);
-            
-        } catch (Exception e) {
-            System.err.println("Error crawling detailed data for " + title + " (" + url + "): " + e.getMessage());
+            System.err.println("Skipping meme with missing url or title: " + url);
+            return CompletableFuture.completedFuture(null);
         }
-    }
-
-    private Map<String, Object> extractDetailedData(Document doc, String url, String originalTitle) {
-        Map<String, Object> detailedData = new HashMap<>();
-        detailedData.put("url", url);
-        detailedData.put("original_title", originalTitle);
-        detailedData.put("page_title", doc.title());
         
-        detailedData.put("meta_tags", extractMetaTags(doc));
-        detailedData.put("wiki_content_html", extractWikiContentHtml(doc));
-        detailedData.put("wiki_content_text", extractWikiContentText(doc));
-        detailedData.put("images", extractImageData(doc));
-        detailedData.put("links", extractLinkData(doc));
-        detailedData.put("headings", extractHeadingData(doc));
-        detailedData.put("crawled_at", new Date().toString());
-        
-        return detailedData;
+        return fetchEngine.fetchPage(url, CrawlerConfig.NETWORK_TIMEOUT_MS)
+            .thenAccept(page -> {
+                if (page.notModified() && detailedStore.contains(url)) {
+                    Log.item("Progress: %d - Unchanged, skipped: %s", current, title);
+                    return;
+                }
+                DetailedMemePage detailedData = extractDetailedData(page.document(), url, title);
+                saveDetailedData(detailedStore, url, detailedData);
+                Log.item("Progress: %d - Saved detailed data for: %s", current, title);
+            })
+            .exceptionally(error -> {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                System.err.println("Error crawling detailed data for " + title + " (" + url + "): " + cause.getMessage());
+                return null;
+            });
     }
 
-    private Map<String, String> extractMetaTags(Document doc) {
-        Elements metaTags = doc.select("meta");
-        Map<String, String> metaData = new HashMap<>();
-        
-        for (Element meta : metaTags) {
-            String name = meta.attr("name");
-            String property = meta.attr("property");
-            String content = meta.attr("content");
-            
-            if (!name.isEmpty()) {
-                metaData.put("meta_" + name, content);
-            }
-            if (!property.isEmpty()) {
-                metaData.put("meta_" + property, content);
-            }
-        }
-        return metaData;
+    private DetailedMemePage extractDetailedData(Document doc, String url, String originalTitle) {
+        return PageExtractor.extract(doc, url, originalTitle).detailedPage();
     }
 
-    private String extractWikiContentHtml(Document doc) {
-        Element content = doc.selectFirst(".wiki-content");
-        return content != null ? content.html() : "";
-    }
-
-    private String extractWikiContentText(Document doc) {
-        Element content = doc.selectFirst(".wiki-content");
-        return content != null ? content.text() : "";
-    }
-
-    private List<Map<String, String>> extractImageData(Document doc) {
-        Elements images = doc.select("img[src]");
-        List<Map<String, String>> imageData = new ArrayList<>();
-        
-        for (Element img : images) {
-            Map<String, String> imgInfo = new HashMap<>();
-            imgInfo.put("src", img.attr("src"));
-            imgInfo.put("alt", img.attr("alt"));
-            imgInfo.put("title", img.attr("title"));
-            imageData.add(imgInfo);
-        }
-        return imageData;
-    }
-
-    private List<Map<String, String>> extractLinkData(Document doc) {
-        Elements links = doc.select("a[href]");
-        List<Map<String, String>> linkData = new ArrayList<>();
-        
-        for (Element link : links) {
-            Map<String, String> linkInfo = new HashMap<>();
-            linkInfo.put("href", link.attr("href"));
-            linkInfo.put("text", link.text());
-            linkInfo.put("title", link.attr("title"));
-            linkData.add(linkInfo);
-        }
-        return linkData;
-    }
-
-    private List<Map<String, String>> extractHeadingData(Document doc) {
-        Elements headings = doc.select("h1, h2, h3, h4, h5, h6");
-        List<Map<String, String>> headingData = new ArrayList<>();
-        
-        for (Element heading : headings) {
-            Map<String, String> headingInfo = new HashMap<>();
-            headingInfo.put("tag", heading.tagName());
-            headingInfo.put("text", heading.text());
-            headingInfo.put("id", heading.attr("id"));
-            headingData.add(headingInfo);
+    private void saveDetailedData(DetailedDataStore detailedStore, String url, DetailedMemePage detailedData) {
+        try {
+            detailedStore.put(url, detailedData);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return headingData;
-    }
-
-    private void saveDetailedData(Map<String, Object> detailedData, String title) throws IOException {
-        String sanitizedTitle = FileUtils.sanitizeFileName(title);
-        String fileName = CrawlerConfig.DETAILED_DATA_DIR + "/" + sanitizedTitle + ".json";
-        FileUtils.saveJsonToFile(detailedData, fileName);
     }
 }
\ No newline at end of file
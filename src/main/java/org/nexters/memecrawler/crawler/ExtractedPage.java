@@ -0,0 +1,7 @@
+package org.nexters.memecrawler.crawler;
+
+import org.nexters.memecrawler.model.DetailedMemePage;
+import org.nexters.memecrawler.model.RawMemePage;
+
+public record ExtractedPage(RawMemePage rawPage, DetailedMemePage detailedPage, String cleanText) {
+}
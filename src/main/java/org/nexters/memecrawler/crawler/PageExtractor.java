@@ -0,0 +1,292 @@
+package org.nexters.memecrawler.crawler;
+
+import org.jsoup.internal.StringUtil;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+import org.nexters.memecrawler.metrics.Metrics;
+import org.nexters.memecrawler.model.DetailedMemePage;
+import org.nexters.memecrawler.model.RawMemePage;
+
+import java.util.*;
+
+public class PageExtractor {
+    private static final Set<String> CLEAN_TEXT_EXCLUDED_TAGS = Set.of("script", "style", "nav", "header", "footer");
+    private static final List<String> CLEAN_TEXT_EXCLUDED_CLASSES = List.of("advertisement", "ad", "wiki-nav", "wiki-category", "wiki-macro-toc");
+    private static final Set<String> HEADING_TAGS = Set.of("h1", "h2", "h3", "h4", "h5", "h6");
+    private static final Set<String> WHITESPACE_PRESERVING_TAGS = Set.of("pre", "textarea");
+    // 본문 텍스트에서 문단 제목을 별도 줄로 남겨 ContentReducer가 섹션 단위로 자를 수 있게 한다
+    public static final String HEADING_LINE_PREFIX = "## ";
+
+    public static ExtractedPage extract(Document doc, String url, String originalTitle) {
+        long startNanos = System.nanoTime();
+        SinglePassVisitor visitor = new SinglePassVisitor();
+        NodeTraversor.traverse(visitor, doc);
+
+        String pageTitle = doc.title();
+        String wikiContentHtml = visitor.wikiContent != null ? visitor.wikiContent.html() : null;
+
+        ExtractedPage page = new ExtractedPage(
+            buildRawPage(visitor, url, pageTitle, wikiContentHtml),
+            buildDetailedPage(visitor, url, originalTitle, pageTitle, wikiContentHtml),
+            buildCleanText(visitor, url, originalTitle, pageTitle));
+        Metrics.EXTRACT_TIME.recordSince(startNanos);
+        return page;
+    }
+
+    private static RawMemePage buildRawPage(SinglePassVisitor visitor, String url, String pageTitle,
+                                            String wikiContentHtml) {
+        List<String> imageUrls = new ArrayList<>();
+        for (DetailedMemePage.Image image : visitor.images) {
+            if (image.src().startsWith("http")) {
+                imageUrls.add(image.src());
+            }
+        }
+        return new RawMemePage(url, pageTitle, wikiContentHtml, imageUrls);
+    }
+
+    private static DetailedMemePage buildDetailedPage(SinglePassVisitor visitor, String url, String originalTitle,
+                                                      String pageTitle, String wikiContentHtml) {
+        return new DetailedMemePage(
+            url,
+            originalTitle,
+            pageTitle,
+            visitor.metaTags,
+            wikiContentHtml != null ? wikiContentHtml : "",
+            visitor.wikiText != null ? visitor.wikiText.result() : "",
+            visitor.images,
+            visitor.links,
+            visitor.headings,
+            new Date().toString());
+    }
+
+    private static String buildCleanText(SinglePassVisitor visitor, String url, String originalTitle, String pageTitle) {
+        StringBuilder cleanText = new StringBuilder();
+        
+        // 제목
+        cleanText.append("제목: ").append(originalTitle).append("\n");
+        
+        // 출처
+        cleanText.append("출처: ").append(url).append("\n");
+        
+        // 크롤링 시간
+        cleanText.append("크롤링 시간: ").append(new Date()).append("\n");
+        cleanText.append("=".repeat(80)).append("\n\n");
+        
+        // 페이지 제목
+        if (pageTitle != null && !pageTitle.isEmpty()) {
+            cleanText.append("페이지 제목: ").append(pageTitle).append("\n\n");
+        }
+        
+        // 본문 내용만 추출
+        String bodyText = visitor.bodyText.result();
+        if (!bodyText.isEmpty()) {
+            cleanText.append("본문 내용:\n");
+            cleanText.append(bodyText).append("\n");
+        }
+        
+        return cleanText.toString();
+    }
+
+    private static boolean isExcludedFromCleanText(Element element) {
+        if (CLEAN_TEXT_EXCLUDED_TAGS.contains(element.normalName())) {
+            return true;
+        }
+        for (String className : CLEAN_TEXT_EXCLUDED_CLASSES) {
+            if (element.hasClass(className)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Element.text()와 같은 규칙으로 공백을 정규화하며 텍스트를 모은다
+    private static final class TextCollector {
+        private final StringBuilder text = new StringBuilder();
+
+        private void appendText(String value, boolean preserveWhitespace) {
+            if (preserveWhitespace) {
+                text.append(value);
+            } else {
+                StringUtil.appendNormalisedWhitespace(text, value, endsWithWhitespace());
+            }
+        }
+
+        private void blockBoundary() {
+            if (text.length() > 0 && !endsWithWhitespace()) {
+                text.append(' ');
+            }
+        }
+
+        private void lineBreak() {
+            while (text.length() > 0 && text.charAt(text.length() - 1) == ' ') {
+                text.setLength(text.length() - 1);
+            }
+            if (text.length() > 0 && text.charAt(text.length() - 1) != '\n') {
+                text.append('\n');
+            }
+        }
+
+        private boolean endsWithWhitespace() {
+            if (text.length() == 0) {
+                return false;
+            }
+            char last = text.charAt(text.length() - 1);
+            return last == ' ' || last == '\n';
+        }
+
+        private String result() {
+            return text.toString().trim();
+        }
+    }
+
+    // 링크/문단 제목은 열릴 때 문서 순서대로 자리를 잡고, 닫힐 때 모은 텍스트로 레코드를 채운다
+    private record OpenElement(Element element, TextCollector text, int slot) {
+    }
+
+    private static final class SinglePassVisitor implements NodeVisitor {
+        private final Map<String, String> metaTags = new HashMap<>();
+        private final List<DetailedMemePage.Image> images = new ArrayList<>();
+        private final List<DetailedMemePage.Link> links = new ArrayList<>();
+        private final List<DetailedMemePage.Heading> headings = new ArrayList<>();
+        private final TextCollector bodyText = new TextCollector();
+
+        private final Deque<OpenElement> openElements = new ArrayDeque<>();
+        private final List<TextCollector> activeCollectors = new ArrayList<>();
+
+        private Element body;
+        private Element excludedFromBody;
+        private Element wikiContent;
+        private TextCollector wikiText;
+        private boolean insideWikiContent;
+        private int preserveWhitespaceDepth;
+
+        @Override
+        public void head(Node node, int depth) {
+            if (node instanceof TextNode textNode) {
+                String text = textNode.getWholeText();
+                for (TextCollector collector : activeCollectors) {
+                    collector.appendText(text, preserveWhitespaceDepth > 0);
+                }
+                return;
+            }
+            if (!(node instanceof Element element)) {
+                return;
+            }
+
+            String tag = element.normalName();
+            if (element.isBlock() || tag.equals("br")) {
+                activeCollectors.forEach(TextCollector::blockBoundary);
+            }
+            if (WHITESPACE_PRESERVING_TAGS.contains(tag)) {
+                preserveWhitespaceDepth++;
+            }
+
+            if (body == null && tag.equals("body")) {
+                body = element;
+                activeCollectors.add(bodyText);
+            } else if (body != null && excludedFromBody == null && isExcludedFromCleanText(element)) {
+                excludedFromBody = element;
+                activeCollectors.remove(bodyText);
+            }
+
+            if (wikiContent == null && element.hasClass("wiki-content")) {
+                wikiContent = element;
+                wikiText = new TextCollector();
+                insideWikiContent = true;
+                activeCollectors.add(wikiText);
+            }
+
+            switch (tag) {
+                case "meta" -> collectMeta(element);
+                case "img" -> collectImage(element);
+                case "a" -> {
+                    if (element.hasAttr("href")) {
+                        openElement(element, links);
+                    }
+                }
+                default -> {
+                    if (HEADING_TAGS.contains(tag)) {
+                        if (activeCollectors.contains(bodyText)) {
+                            bodyText.lineBreak();
+                            bodyText.text.append(HEADING_LINE_PREFIX);
+                        }
+                        openElement(element, headings);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void tail(Node node, int depth) {
+            if (!(node instanceof Element element)) {
+                return;
+            }
+
+            if (WHITESPACE_PRESERVING_TAGS.contains(element.normalName())) {
+                preserveWhitespaceDepth--;
+            }
+            if (!openElements.isEmpty() && openElements.peek().element() == element) {
+                closeElement(openElements.pop());
+            }
+            if (element.isBlock()) {
+                activeCollectors.forEach(TextCollector::blockBoundary);
+            }
+            if (HEADING_TAGS.contains(element.normalName()) && activeCollectors.contains(bodyText)) {
+                bodyText.lineBreak();
+            }
+            if (element == excludedFromBody) {
+                excludedFromBody = null;
+                activeCollectors.add(bodyText);
+            }
+            if (insideWikiContent && element == wikiContent) {
+                insideWikiContent = false;
+                activeCollectors.remove(wikiText);
+            }
+            if (element == body) {
+                activeCollectors.remove(bodyText);
+            }
+        }
+
+        private void collectMeta(Element meta) {
+            String name = meta.attr("name");
+            String property = meta.attr("property");
+            String content = meta.attr("content");
+
+            if (!name.isEmpty()) {
+                metaTags.put("meta_" + name, content);
+            }
+            if (!property.isEmpty()) {
+                metaTags.put("meta_" + property, content);
+            }
+        }
+
+        private void collectImage(Element img) {
+            if (!img.hasAttr("src")) {
+                return;
+            }
+            images.add(new DetailedMemePage.Image(img.attr("src"), img.attr("alt"), img.attr("title")));
+        }
+
+        private void openElement(Element element, List<?> target) {
+            target.add(null);
+            TextCollector text = new TextCollector();
+            openElements.push(new OpenElement(element, text, target.size() - 1));
+            activeCollectors.add(text);
+        }
+
+        private void closeElement(OpenElement open) {
+            activeCollectors.remove(open.text());
+            Element element = open.element();
+            String text = open.text().result();
+            if (element.normalName().equals("a")) {
+                links.set(open.slot(), new DetailedMemePage.Link(element.attr("href"), text, element.attr("title")));
+            } else {
+                headings.set(open.slot(), new DetailedMemePage.Heading(element.normalName(), text, element.attr("id")));
+            }
+        }
+    }
+}
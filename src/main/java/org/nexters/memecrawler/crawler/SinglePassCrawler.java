@@ -0,0 +1,139 @@
+package org.nexters.memecrawler.crawler;
+
+import org.jsoup.nodes.Document;
+import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.model.RawMemePage;
+import org.nexters.memecrawler.network.FetchEngine;
+import org.nexters.memecrawler.network.FetchedPage;
+import org.nexters.memecrawler.network.ResponseArchive;
+import org.nexters.memecrawler.search.SearchIndex;
+import org.nexters.memecrawler.storage.DetailedDataStore;
+import org.nexters.memecrawler.util.FileUtils;
+import org.nexters.memecrawler.util.Log;
+import org.nexters.memecrawler.util.JsonLinesWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SinglePassCrawler {
+    private final FetchEngine fetchEngine;
+
+    public SinglePassCrawler() {
+        this(FetchEngine.shared());
+    }
+
+    public SinglePassCrawler(FetchEngine fetchEngine) {
+        this.fetchEngine = fetchEngine;
+    }
+
+    public int crawlAll(List<String> urls) throws IOException {
+        return crawlAll(urls, UrlFrontier.inMemory());
+    }
+
+    // 프런티어로 재개하는 크롤은 이미 저장된 페이지를 다시 넘기지 않으므로 원본 데이터 파일에 이어 쓰고,
+    // 시드부터 새로 훑는 세대는 원본 데이터 파일을 새로 쓴다
+    public int crawlAll(List<String> urls, UrlFrontier frontier) throws IOException {
+        FileUtils.ensureDirectoryExists(CrawlerConfig.CLEAN_TEXT_DIR);
+
+        Semaphore pendingPages = new Semaphore(CrawlerConfig.MAX_PENDING_PAGES);
+        AtomicInteger savedCount = new AtomicInteger(0);
+        AtomicInteger completed = new AtomicInteger(0);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(urls.size());
+
+        try (JsonLinesWriter<RawMemePage> rawWriter = frontier.isNewGeneration()
+                ? FileUtils.openJsonLinesWriter(CrawlerConfig.RAW_DATA_FILE)
+                : FileUtils.appendJsonLinesWriter(CrawlerConfig.RAW_DATA_FILE);
+             DetailedDataStore detailedStore = DetailedDataStore.open();
+             SearchIndex searchIndex = SearchIndex.open()) {
+            for (String url : urls) {
+                pendingPages.acquireUninterruptibly();
+                futures.add(fetchEngine.fetchPage(url)
+                    .thenAccept(page -> {
+                        savePage(page, rawWriter, detailedStore, searchIndex);
+                        savedCount.incrementAndGet();
+                        frontier.markDone(url);
+                    })
+                    .whenComplete((ignored, error) -> {
+                        pendingPages.release();
+                        int current = completed.incrementAndGet();
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                            if (FetchEngine.isPermanentFailure(cause)) {
+                                frontier.markFailed(url);
+                            }
+                            System.err.println("Error crawling " + url + ": " + cause.getMessage());
+                        } else {
+                            Log.item("Progress: %d/%d - %s", current, urls.size(), url);
+                        }
+                    }));
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new))
+                .exceptionally(error -> null)
+                .join();
+        }
+
+        return savedCount.get();
+    }
+
+    // 보관된 응답으로 모든 추출을 다시 돌린다. 네트워크를 쓰지 않고 파싱은 모든 코어에서 병렬로 한다
+    public int replayArchive() throws IOException {
+        FileUtils.ensureDirectoryExists(CrawlerConfig.CLEAN_TEXT_DIR);
+
+        AtomicInteger savedCount = new AtomicInteger(0);
+        try (JsonLinesWriter<RawMemePage> rawWriter = FileUtils.openJsonLinesWriter(CrawlerConfig.RAW_DATA_FILE);
+             DetailedDataStore detailedStore = DetailedDataStore.open();
+             SearchIndex searchIndex = SearchIndex.open()) {
+            // 보관소에는 목록/분류 페이지 응답도 있으므로 밈 문서만 다시 추출한다
+            String seedDocumentName = UrlCanonicalizer.documentName(UrlCanonicalizer.canonicalize(CrawlerConfig.TARGET_URL));
+            int replayed = ResponseArchive.replay(Paths.get(CrawlerConfig.RESPONSE_ARCHIVE_DIR),
+                Runtime.getRuntime().availableProcessors(), url -> isMemePage(url, seedDocumentName), page -> {
+                    savePage(page, rawWriter, detailedStore, searchIndex);
+                    Log.item("Replayed %d: %s", savedCount.incrementAndGet(), page.url());
+                });
+            System.out.println("Replayed " + savedCount.get() + "/" + replayed + " archived pages");
+        }
+        return savedCount.get();
+    }
+
+    private static boolean isMemePage(String url, String seedDocumentName) {
+        String canonicalUrl = UrlCanonicalizer.canonicalize(url);
+        return canonicalUrl != null
+            && UrlCanonicalizer.classify(canonicalUrl, seedDocumentName) == UrlCanonicalizer.PageKind.MEME;
+    }
+
+    // 페이지 하나의 산출물을 모두 기록하고 정제 텍스트 파일 경로를 돌려준다
+    public Path savePage(FetchedPage page, JsonLinesWriter<RawMemePage> rawWriter, DetailedDataStore detailedStore,
+                         SearchIndex searchIndex) {
+        Document doc = page.document();
+        String title = doc.title();
+        ExtractedPage extracted = PageExtractor.extract(doc, page.url(), title);
+
+        String sanitizedTitle = FileUtils.sanitizeFileName(title);
+        Path cleanTextFile = Paths.get(CrawlerConfig.CLEAN_TEXT_DIR, sanitizedTitle + ".txt");
+
+        try {
+            rawWriter.write(extracted.rawPage());
+
+            // 변경되지 않은 페이지는 하위 산출물을 다시 쓰지 않는다
+            if (page.notModified() && Files.exists(cleanTextFile) && detailedStore.contains(page.url())) {
+                return cleanTextFile;
+            }
+            FileUtils.saveTextToFile(extracted.cleanText(), cleanTextFile.toString());
+            searchIndex.add(cleanTextFile.toString(), title, extracted.cleanText());
+            detailedStore.put(page.url(), extracted.detailedPage());
+            return cleanTextFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.nexters.memecrawler.crawler;
+
+import org.nexters.memecrawler.config.CrawlerConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+// 나무위키 문서 URL을 하나의 표기로 맞춘다: 퍼센트 인코딩 통일, #s- 앵커/쿼리 제거, 비문서 이름공간 제외
+public class UrlCanonicalizer {
+    public enum PageKind { LIST, CATEGORY, MEME }
+
+    private static final String HOST = URI.create(CrawlerConfig.BASE_URL).getHost();
+    private static final String DOCUMENT_PATH_PREFIX = "/w/";
+    private static final String CATEGORY_NAMESPACE = "분류";
+    private static final Set<String> EXCLUDED_NAMESPACES = Set.of(
+        "나무위키", "파일", "틀", "사용자", "토론", "특수기능", "휴지통", "더미");
+    private static final Set<String> EXCLUDED_DOCUMENTS = Set.of("편집 요청", "나무위키", "임의 문서");
+    // 퍼센트 인코딩하지 않고 그대로 두는 문자. 나무위키가 생성하는 링크 표기를 따른다
+    private static final String UNENCODED_CHARS = "-._~()!*',:/";
+
+    public static String canonicalize(String href) {
+        return canonicalize(href, CrawlerConfig.BASE_URL);
+    }
+
+    public static String canonicalize(String href, String baseUrl) {
+        if (href == null || href.isBlank()) {
+            return null;
+        }
+
+        URI uri;
+        try {
+            uri = new URI(baseUrl).resolve(href.trim().replace(" ", "%20"));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+        if (!HOST.equalsIgnoreCase(uri.getHost())) {
+            return null;
+        }
+
+        String rawPath = uri.getRawPath();
+        if (rawPath == null || !rawPath.startsWith(DOCUMENT_PATH_PREFIX)) {
+            return null;
+        }
+
+        String documentName = percentDecode(rawPath.substring(DOCUMENT_PATH_PREFIX.length()));
+        if (documentName.isEmpty() || isExcluded(documentName)) {
+            return null;
+        }
+        return CrawlerConfig.BASE_URL + DOCUMENT_PATH_PREFIX + percentEncode(documentName);
+    }
+
+    public static String documentName(String canonicalUrl) {
+        int start = canonicalUrl.indexOf(DOCUMENT_PATH_PREFIX);
+        return start < 0 ? canonicalUrl : percentDecode(canonicalUrl.substring(start + DOCUMENT_PATH_PREFIX.length()));
+    }
+
+    public static PageKind classify(String canonicalUrl, String seedDocumentName) {
+        String name = documentName(canonicalUrl);
+        if (CATEGORY_NAMESPACE.equals(namespaceOf(name))) {
+            return PageKind.CATEGORY;
+        }
+        if (name.equals(seedDocumentName) || name.startsWith(seedDocumentName + "/")) {
+            return PageKind.LIST;
+        }
+        return PageKind.MEME;
+    }
+
+    private static boolean isExcluded(String documentName) {
+        String namespace = namespaceOf(documentName);
+        return (namespace != null && EXCLUDED_NAMESPACES.contains(namespace))
+            || EXCLUDED_DOCUMENTS.contains(documentName);
+    }
+
+    private static String namespaceOf(String documentName) {
+        int colon = documentName.indexOf(':');
+        return colon > 0 ? documentName.substring(0, colon) : null;
+    }
+
+    private static String percentDecode(String value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' && i + 2 < value.length()
+                && Character.digit(value.charAt(i + 1), 16) >= 0 && Character.digit(value.charAt(i + 2), 16) >= 0) {
+                bytes.write(Character.digit(value.charAt(i + 1), 16) << 4 | Character.digit(value.charAt(i + 2), 16));
+                i += 2;
+            } else {
+                int end = Character.isHighSurrogate(c) && i + 1 < value.length() ? i + 2 : i + 1;
+                byte[] encoded = value.substring(i, end).getBytes(StandardCharsets.UTF_8);
+                bytes.write(encoded, 0, encoded.length);
+                i = end - 1;
+            }
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String percentEncode(String value) {
+        StringBuilder encoded = new StringBuilder(value.length() * 3);
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            int c = b & 0xff;
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || UNENCODED_CHARS.indexOf(c) >= 0) {
+                encoded.append((char) c);
+            } else {
+                encoded.append('%').append(Character.toUpperCase(Character.forDigit(c >> 4, 16)))
+                    .append(Character.toUpperCase(Character.forDigit(c & 0xf, 16)));
+            }
+        }
+        return encoded.toString();
+    }
+}
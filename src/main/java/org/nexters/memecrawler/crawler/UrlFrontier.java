@@ -0,0 +1,209 @@
+package org.nexters.memecrawler.crawler;
+
+import org.nexters.memecrawler.crawler.UrlCanonicalizer.PageKind;
+import org.nexters.memecrawler.util.FileUtils;
+import org.nexters.memecrawler.util.HashUtils;
+import org.nexters.memecrawler.util.LongHashSet;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// BFS 크롤 프런티어. 발견/완료 이벤트를 한 줄씩 로그에 남겨 중단 후 같은 지점부터 재개한다.
+// 발견한 URL이 모두 완료되면 한 세대가 끝난 것이므로 로그를 비우고, 다음 실행은 시드부터 새 세대로 다시 훑는다
+// (바뀌지 않은 페이지는 HTTP 캐시의 조건부 요청으로 싸게 확인된다).
+// 404처럼 다시 시도해도 소용없는 URL은 실패로 끝내야 세대가 끝날 수 있다.
+// 로그 형식: "<kind>\t<depth>\t<url>" (발견), "done\t<url>" (완료), "failed\t<url>" (영구 실패)
+public class UrlFrontier implements Closeable {
+    private static final String DONE = "done";
+    private static final String FAILED = "failed";
+
+    public record Entry(String url, int depth, PageKind kind) {
+    }
+
+    private LongHashSet seen = new LongHashSet();
+    private final Map<Long, Entry> pending = new LinkedHashMap<>();
+    private final Deque<Entry> expandQueue = new ArrayDeque<>();
+    private final Path stateFile;
+    private BufferedWriter log;
+    private boolean newGeneration = true;
+
+    private UrlFrontier(Path stateFile, BufferedWriter log) {
+        this.stateFile = stateFile;
+        this.log = log;
+    }
+
+    public static UrlFrontier inMemory() {
+        return new UrlFrontier(null, null);
+    }
+
+    public static UrlFrontier open(Path stateFile) throws IOException {
+        return open(stateFile, false);
+    }
+
+    // fresh면 이전 세대의 진행 기록을 버리고 시드부터 다시 시작한다
+    public static UrlFrontier open(Path stateFile, boolean fresh) throws IOException {
+        if (fresh) {
+            Files.deleteIfExists(stateFile);
+        }
+        boolean tornTail = Files.exists(stateFile) && !FileUtils.endsWithNewline(stateFile);
+        UrlFrontier frontier = new UrlFrontier(stateFile, Files.newBufferedWriter(stateFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        if (tornTail) {
+            frontier.log.write('\n');
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                frontier.replay(line);
+            }
+        }
+        for (Entry entry : frontier.pending.values()) {
+            if (entry.kind() != PageKind.MEME) {
+                frontier.expandQueue.add(entry);
+            }
+        }
+
+        // 이전 세대가 완료 직후 로그를 비우기 전에 끝났다면 여기서 새 세대를 시작한다
+        if (frontier.pending.isEmpty() && frontier.seen.size() > 0) {
+            System.out.println("Previous crawl generation completed (" + frontier.seen.size()
+                + " URLs), starting a new one from the seed");
+            frontier.seen = new LongHashSet();
+            frontier.truncateLog();
+        }
+        frontier.newGeneration = frontier.seen.size() == 0;
+        return frontier;
+    }
+
+    private void replay(String line) {
+        String[] fields = line.split("\t", 3);
+        try {
+            if (fields.length == 2 && (DONE.equals(fields[0]) || FAILED.equals(fields[0]))) {
+                pending.remove(HashUtils.fingerprint64(fields[1]));
+            } else if (fields.length == 3) {
+                Entry entry = new Entry(fields[2], Integer.parseInt(fields[1]), PageKind.valueOf(fields[0]));
+                long fingerprint = HashUtils.fingerprint64(entry.url());
+                if (seen.add(fingerprint)) {
+                    pending.put(fingerprint, entry);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // 기록 도중 끊긴 줄은 무시한다
+        }
+    }
+
+    // 처음 보는 URL이면 등록하고 true를 돌려준다
+    public synchronized boolean offer(String canonicalUrl, int depth, PageKind kind) throws IOException {
+        long fingerprint = HashUtils.fingerprint64(canonicalUrl);
+        if (!seen.add(fingerprint)) {
+            return false;
+        }
+
+        Entry entry = new Entry(canonicalUrl, depth, kind);
+        pending.put(fingerprint, entry);
+        if (kind != PageKind.MEME) {
+            expandQueue.add(entry);
+        }
+        append(kind.name() + "\t" + depth + "\t" + canonicalUrl);
+        return true;
+    }
+
+    // 다음 BFS 단계에서 펼칠 목록/분류 페이지를 모두 꺼낸다
+    public synchronized List<Entry> pollExpandLevel() {
+        List<Entry> level = new ArrayList<>();
+        if (expandQueue.isEmpty()) {
+            return level;
+        }
+        int depth = expandQueue.peek().depth();
+        while (!expandQueue.isEmpty() && expandQueue.peek().depth() == depth) {
+            level.add(expandQueue.poll());
+        }
+        return level;
+    }
+
+    public synchronized List<String> pendingMemeUrls() {
+        List<String> urls = new ArrayList<>();
+        for (Entry entry : pending.values()) {
+            if (entry.kind() == PageKind.MEME) {
+                urls.add(entry.url());
+            }
+        }
+        return urls;
+    }
+
+    public synchronized void markDone(String canonicalUrl) {
+        complete(DONE, canonicalUrl);
+    }
+
+    // 다시 시도해도 성공할 수 없는 URL을 완료로 치고 이번 세대에서 더 다루지 않는다
+    public synchronized void markFailed(String canonicalUrl) {
+        complete(FAILED, canonicalUrl);
+    }
+
+    private void complete(String outcome, String canonicalUrl) {
+        if (pending.remove(HashUtils.fingerprint64(canonicalUrl)) == null) {
+            return;
+        }
+        try {
+            if (pending.isEmpty()) {
+                // 세대 완료: 완료 기록은 더 필요 없으므로 로그를 비워 다음 실행이 새 세대로 시작하게 한다
+                truncateLog();
+                System.out.println("Crawl generation completed (" + seen.size() + " URLs), frontier log compacted");
+            } else {
+                append(outcome + "\t" + canonicalUrl);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to record frontier progress for " + canonicalUrl + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized int seenCount() {
+        return seen.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return seen.size() == 0;
+    }
+
+    // 이전 실행을 이어 가는 중이 아니라 시드부터 새로 훑는 세대이면 true
+    public synchronized boolean isNewGeneration() {
+        return newGeneration;
+    }
+
+    private void truncateLog() throws IOException {
+        if (log == null) {
+            return;
+        }
+        log.close();
+        log = Files.newBufferedWriter(stateFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private void append(String line) throws IOException {
+        if (log == null) {
+            return;
+        }
+        log.write(line);
+        log.write('\n');
+        log.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.nexters.memecrawler.metrics;
+
+public class Metrics {
+    private static final MetricsRegistry registry = MetricsRegistry.global();
+
+    public static final LatencyHistogram FETCH_LATENCY =
+        registry.histogram("memecrawler_fetch_latency_seconds", "HTTP fetch latency per request");
+    public static final Counter FETCH_REQUESTS =
+        registry.counter("memecrawler_fetch_requests_total", "HTTP requests sent");
+    public static final Counter FETCH_ERRORS =
+        registry.counter("memecrawler_fetch_errors_total", "HTTP requests that failed or returned an error status");
+    public static final Counter FETCH_NOT_MODIFIED =
+        registry.counter("memecrawler_fetch_not_modified_total", "HTTP requests answered with 304 Not Modified");
+    public static final Counter BYTES_DOWNLOADED =
+        registry.counter("memecrawler_bytes_downloaded_total", "Response body bytes downloaded");
+    public static final LatencyHistogram PARSE_TIME =
+        registry.histogram("memecrawler_parse_seconds", "jsoup parse time per page");
+    public static final LatencyHistogram EXTRACT_TIME =
+        registry.histogram("memecrawler_extract_seconds", "Single-pass extraction time per page");
+
+    public static final LatencyHistogram GEMINI_LATENCY =
+        registry.histogram("memecrawler_gemini_latency_seconds", "Gemini generateContent latency per call");
+    public static final Counter GEMINI_RETRIES =
+        registry.counter("memecrawler_gemini_retries_total", "Gemini calls that failed and were retried");
+    public static final Counter GEMINI_TIMEOUTS =
+        registry.counter("memecrawler_gemini_timeouts_total", "Gemini calls abandoned at their deadline");
+    public static final Counter GEMINI_HEDGES =
+        registry.counter("memecrawler_gemini_hedges_total", "Duplicate Gemini calls sent after the p95 latency threshold");
+    public static final Counter GEMINI_HEDGE_WINS =
+        registry.counter("memecrawler_gemini_hedge_wins_total", "Hedged Gemini calls that answered before the original");
+    public static final Counter GEMINI_CIRCUIT_OPENS =
+        registry.counter("memecrawler_gemini_circuit_opens_total", "Times the Gemini circuit breaker paused all requests");
+    public static final Counter SCHEMA_VIOLATIONS =
+        registry.counter("memecrawler_gemini_schema_violations_total", "Gemini responses re-requested because they broke the analysis schema");
+    public static final Counter PROMPT_TOKENS =
+        registry.counter("memecrawler_gemini_prompt_tokens_total", "Prompt tokens reported by Gemini");
+    public static final Counter RESPONSE_TOKENS =
+        registry.counter("memecrawler_gemini_response_tokens_total", "Response tokens reported by Gemini");
+    public static final Counter ANALYSIS_SUCCESS =
+        registry.counter("memecrawler_analysis_success_total", "Memes analyzed successfully");
+    public static final Counter ANALYSIS_FAILURE =
+        registry.counter("memecrawler_analysis_failure_total", "Memes whose analysis failed");
+    public static final Counter ANALYSIS_DUPLICATES =
+        registry.counter("memecrawler_analysis_duplicates_total", "Near-duplicate memes linked to an existing analysis");
+    public static final Counter FETCH_DUPLICATES =
+        registry.counter("memecrawler_fetch_duplicates_total", "Pages skipped because their URL was already processed");
+}
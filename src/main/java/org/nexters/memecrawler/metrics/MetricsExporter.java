@@ -0,0 +1,87 @@
+package org.nexters.memecrawler.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import org.nexters.memecrawler.config.CrawlerConfig;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsExporter implements AutoCloseable {
+    private final MetricsRegistry registry;
+    private HttpServer server;
+    private ScheduledExecutorService snapshotScheduler;
+    private Path snapshotFile;
+
+    public MetricsExporter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static MetricsExporter startConfigured() {
+        MetricsExporter exporter = new MetricsExporter(MetricsRegistry.global());
+        try {
+            if (CrawlerConfig.METRICS_PORT > 0) {
+                exporter.serveHttp(CrawlerConfig.METRICS_PORT);
+            }
+            if (!CrawlerConfig.METRICS_SNAPSHOT_FILE.isEmpty()) {
+                exporter.writeSnapshots(Path.of(CrawlerConfig.METRICS_SNAPSHOT_FILE), CrawlerConfig.METRICS_SNAPSHOT_INTERVAL_SECONDS);
+            }
+        } catch (IOException e) {
+            System.err.println("메트릭 익스포터 시작 실패: " + e.getMessage());
+        }
+        return exporter;
+    }
+
+    public void serveHttp(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = registry.render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        System.out.println("📈 메트릭: http://localhost:" + port + "/metrics");
+    }
+
+    public void writeSnapshots(Path file, long intervalSeconds) {
+        snapshotFile = file;
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleAtFixedRate(this::writeSnapshot, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private void writeSnapshot() {
+        try {
+            Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            Files.writeString(temp, registry.render(), StandardCharsets.UTF_8);
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("메트릭 스냅샷 저장 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+            writeSnapshot();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.nexters.memecrawler.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public Counter counter(String name, String help) {
+        return counters.computeIfAbsent(name, n -> new Counter(n, help));
+    }
+
+    public LatencyHistogram histogram(String name, String help) {
+        return histograms.computeIfAbsent(name, n -> new LatencyHistogram(n, help));
+    }
+
+    // Prometheus text exposition format (0.0.4)
+    public String render() {
+        StringBuilder out = new StringBuilder(4096);
+        counters.values().forEach(counter -> counter.render(out));
+        histograms.values().forEach(histogram -> histogram.render(out));
+        return out.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package org.nexters.memecrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+import java.util.Map;
+
+// 상세 크롤 결과. JSON 필드 이름은 예전 Map 기반 기록과 같다
+@JsonPropertyOrder({"url", "original_title", "page_title", "meta_tags", "wiki_content_html",
+    "wiki_content_text", "images", "links", "headings", "crawled_at"})
+public record DetailedMemePage(
+    String url,
+    @JsonProperty("original_title") String originalTitle,
+    @JsonProperty("page_title") String pageTitle,
+    @JsonProperty("meta_tags") Map<String, String> metaTags,
+    @JsonProperty("wiki_content_html") String wikiContentHtml,
+    @JsonProperty("wiki_content_text") String wikiContentText,
+    List<Image> images,
+    List<Link> links,
+    List<Heading> headings,
+    @JsonProperty("crawled_at") String crawledAt) {
+
+    public DetailedMemePage {
+        metaTags = metaTags != null ? Map.copyOf(metaTags) : Map.of();
+        images = images != null ? List.copyOf(images) : List.of();
+        links = links != null ? List.copyOf(links) : List.of();
+        headings = headings != null ? List.copyOf(headings) : List.of();
+    }
+
+    public record Image(String src, String alt, String title) {
+    }
+
+    public record Link(String href, String text, String title) {
+    }
+
+    public record Heading(String tag, String text, String id) {
+    }
+}
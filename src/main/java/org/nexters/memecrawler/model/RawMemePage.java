@@ -0,0 +1,13 @@
+package org.nexters.memecrawler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// 목록 단계에서 모은 밈 문서 한 건. raw_meme_data.jsonl 한 줄에 해당한다
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RawMemePage(String url, String title, String content, List<String> images) {
+    public RawMemePage {
+        images = images != null ? List.copyOf(images) : List.of();
+    }
+}
@@ -0,0 +1,183 @@
+package org.nexters.memecrawler.network;
+
+import org.nexters.memecrawler.metrics.Counter;
+import org.nexters.memecrawler.util.Log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 최근 호출 결과를 고정 크기 창으로 보고 오류율이 임계치를 넘으면 모든 호출을 멈춘다.
+// 멈춘 시간이 지나면 시험 호출 몇 개만 보내 모두 성공해야 다시 연다
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // 호출 허가. 받은 때의 상태 세대와 시험 호출 여부를 기억해, 상태가 바뀐 뒤 도착한 결과가 새 상태를 건드리지 않게 한다
+    public record Permit(long generation, boolean probe) {
+    }
+
+    private final String name;
+    private final boolean[] window;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int probes;
+    private final Counter opens;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+
+    private State state = State.CLOSED;
+    // 상태가 바뀔 때마다 늘어난다
+    private long generation;
+    private int windowCount;
+    private int windowNext;
+    private int windowFailures;
+    private long openUntilNanos;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CircuitBreaker(String name, int windowSize, int minCalls, double failureRateThreshold,
+                          long openMillis, int probes, Counter opens) {
+        this.name = name;
+        this.window = new boolean[windowSize];
+        this.minCalls = minCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.probes = probes;
+        this.opens = opens;
+    }
+
+    // 호출 허가를 받는다. 열린 동안에는 기다리고, timeoutNanos 안에 허가를 못 받으면 null.
+    // 허가를 받으면 결과를 onSuccess/onFailure/onCancelled 중 하나로 반드시 알린다
+    public Permit acquire(long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                if (state == State.OPEN && now - openUntilNanos >= 0) {
+                    transition(State.HALF_OPEN);
+                    probesInFlight = 0;
+                    probeSuccesses = 0;
+                    Log.warn("🔌 %s 서킷 반개방: 시험 호출 %d개로 상태 확인", name, probes);
+                }
+                if (state == State.CLOSED) {
+                    return new Permit(generation, false);
+                }
+                if (state == State.HALF_OPEN && probesInFlight + probeSuccesses < probes) {
+                    probesInFlight++;
+                    return new Permit(generation, true);
+                }
+
+                long waitNanos = deadline - now;
+                if (waitNanos <= 0) {
+                    return null;
+                }
+                if (state == State.OPEN) {
+                    waitNanos = Math.min(waitNanos, openUntilNanos - now);
+                }
+                stateChanged.awaitNanos(waitNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.generation() != generation) {
+                return;
+            }
+            if (permit.probe()) {
+                probesInFlight--;
+                if (++probeSuccesses >= probes) {
+                    close();
+                }
+            } else {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.generation() != generation) {
+                return;
+            }
+            if (permit.probe()) {
+                open("시험 호출 실패");
+            } else {
+                record(true);
+                if (windowCount >= minCalls && windowFailures >= failureRateThreshold * windowCount) {
+                    open(String.format("최근 %d건 중 %d건 실패", windowCount, windowFailures));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 결과와 무관하게 끝난 호출(인터럽트 등)은 시험 호출 자리만 돌려준다
+    public void onCancelled(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.generation() == generation && permit.probe()) {
+                probesInFlight--;
+                stateChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void transition(State next) {
+        state = next;
+        generation++;
+    }
+
+    private void open(String reason) {
+        transition(State.OPEN);
+        openUntilNanos = System.nanoTime() + openNanos;
+        opens.increment();
+        Log.warn("⛔ %s 서킷 개방 (%s): %d초간 모든 요청 중단", name, reason, TimeUnit.NANOSECONDS.toSeconds(openNanos));
+        stateChanged.signalAll();
+    }
+
+    private void close() {
+        transition(State.CLOSED);
+        windowCount = 0;
+        windowNext = 0;
+        windowFailures = 0;
+        Log.warn("✅ %s 서킷 닫힘: 요청 재개", name);
+        stateChanged.signalAll();
+    }
+}
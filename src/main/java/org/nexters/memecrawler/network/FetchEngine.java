@@ -0,0 +1,251 @@
+package org.nexters.memecrawler.network;
+
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.metrics.Metrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+public class FetchEngine implements AutoCloseable {
+    private static final String DEFAULT_USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
+    private static final String ACCEPT_HTML = "text/html,application/xhtml+xml;q=0.9,*/*;q=0.8";
+
+    private static volatile FetchEngine shared;
+
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final HostRateController rateController;
+    private final HttpCache httpCache;
+    private final ResponseArchive archive;
+    private final int maxConcurrentPerHost;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    public FetchEngine(int maxConcurrentPerHost) {
+        this(maxConcurrentPerHost, HostRateController.shared(), new HttpCache(CrawlerConfig.HTTP_CACHE_DIR),
+            CrawlerConfig.ARCHIVE_RESPONSES
+                ? new ResponseArchive(Paths.get(CrawlerConfig.RESPONSE_ARCHIVE_DIR), CrawlerConfig.ARCHIVE_MAX_FILE_BYTES)
+                : null);
+    }
+
+    public FetchEngine(int maxConcurrentPerHost, HostRateController rateController, HttpCache httpCache) {
+        this(maxConcurrentPerHost, rateController, httpCache, null);
+    }
+
+    public FetchEngine(int maxConcurrentPerHost, HostRateController rateController, HttpCache httpCache,
+                       ResponseArchive archive) {
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+        this.rateController = rateController;
+        this.httpCache = httpCache;
+        this.archive = archive;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(CrawlerConfig.NETWORK_TIMEOUT_MS))
+                .executor(executor)
+                .build();
+    }
+
+    public static FetchEngine shared() {
+        FetchEngine engine = shared;
+        if (engine == null) {
+            synchronized (FetchEngine.class) {
+                engine = shared;
+                if (engine == null) {
+                    engine = new FetchEngine(CrawlerConfig.MAX_CONCURRENT_REQUESTS_PER_HOST);
+                    shared = engine;
+                }
+            }
+        }
+        return engine;
+    }
+
+    public CompletableFuture<Document> fetch(String url) {
+        return fetch(url, CrawlerConfig.NETWORK_TIMEOUT_MS);
+    }
+
+    public CompletableFuture<Document> fetch(String url, int timeoutMs) {
+        return fetchPage(url, timeoutMs).thenApply(FetchedPage::document);
+    }
+
+    public CompletableFuture<FetchedPage> fetchPage(String url) {
+        return fetchPage(url, CrawlerConfig.NETWORK_TIMEOUT_MS);
+    }
+
+    public CompletableFuture<FetchedPage> fetchPage(String url, int timeoutMs) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return fetchBlocking(url, timeoutMs);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private FetchedPage fetchBlocking(String url, int timeoutMs) throws IOException, InterruptedException {
+        URI uri = URI.create(url);
+        String host = uri.getHost();
+        Semaphore permits = hostPermits.computeIfAbsent(host,
+                h -> new Semaphore(maxConcurrentPerHost, true));
+
+        Optional<HttpCache.Entry> cached = httpCache != null ? httpCache.lookup(url) : Optional.empty();
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header("User-Agent", DEFAULT_USER_AGENT)
+                .header("Accept", ACCEPT_HTML)
+                .GET();
+        cached.ifPresent(entry -> {
+            if (entry.etag() != null) {
+                requestBuilder.header("If-None-Match", entry.etag());
+            }
+            if (entry.lastModified() != null) {
+                requestBuilder.header("If-Modified-Since", entry.lastModified());
+            }
+        });
+        HttpRequest request = requestBuilder.build();
+
+        permits.acquire();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                rateController.acquire(host);
+
+                long startNanos = System.nanoTime();
+                HttpResponse<byte[]> response;
+                try {
+                    response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                } catch (IOException e) {
+                    rateController.onFailure(host);
+                    Metrics.FETCH_ERRORS.increment();
+                    throw e;
+                }
+
+                long latencyNanos = System.nanoTime() - startNanos;
+                int status = response.statusCode();
+                Metrics.FETCH_REQUESTS.increment();
+                Metrics.FETCH_LATENCY.recordNanos(latencyNanos);
+                Metrics.BYTES_DOWNLOADED.add(response.body().length);
+                rateController.onResponse(host, status, latencyNanos,
+                        response.headers().firstValue("Retry-After"));
+
+                if ((status == 429 || status == 503) && attempt < CrawlerConfig.MAX_FETCH_RETRIES) {
+                    continue;
+                }
+                if (status == 304 && cached.isPresent()) {
+                    Metrics.FETCH_NOT_MODIFIED.increment();
+                    HttpCache.Entry entry = cached.get();
+                    Document document = parse(httpCache.readBody(url), entry.contentType(), response.uri().toString());
+                    return new FetchedPage(url, document, true);
+                }
+                if (status >= 400) {
+                    Metrics.FETCH_ERRORS.increment();
+                    throw new HttpStatusException("HTTP error fetching URL", status, url);
+                }
+
+                String contentType = response.headers().firstValue("Content-Type").orElse(null);
+                if (httpCache != null) {
+                    storeInCache(url, response, contentType);
+                }
+                if (archive != null) {
+                    archiveResponse(url, response);
+                }
+                return new FetchedPage(url, parse(response.body(), contentType, response.uri().toString()), false);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void storeInCache(String url, HttpResponse<byte[]> response, String contentType) {
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        if (etag == null && lastModified == null) {
+            return;
+        }
+        try {
+            httpCache.store(new HttpCache.Entry(url, etag, lastModified, contentType), response.body());
+        } catch (IOException e) {
+            System.err.println("Failed to cache response for " + url + ": " + e.getMessage());
+        }
+    }
+
+    private void archiveResponse(String url, HttpResponse<byte[]> response) {
+        try {
+            archive.append(url, response.uri().toString(), response.statusCode(), response.headers().map(), response.body());
+        } catch (IOException e) {
+            System.err.println("Failed to archive response for " + url + ": " + e.getMessage());
+        }
+    }
+
+    static Document parse(byte[] body, String contentType, String baseUri) throws IOException {
+        String charset = contentType != null ? charsetOf(contentType) : null;
+        long startNanos = System.nanoTime();
+        Document document = Jsoup.parse(new ByteArrayInputStream(body), charset, baseUri);
+        Metrics.PARSE_TIME.recordSince(startNanos);
+        return document;
+    }
+
+    private static String charsetOf(String contentType) {
+        for (String param : contentType.split(";")) {
+            String trimmed = param.trim();
+            if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                return trimmed.substring(8).replace("\"", "");
+            }
+        }
+        return null;
+    }
+
+    // 요청 시간 초과(408)와 과부하(429)를 뺀 4xx는 다시 요청해도 결과가 같다
+    public static boolean isPermanentFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof HttpStatusException statusException)) {
+            return false;
+        }
+        int status = statusException.getStatusCode();
+        return status >= 400 && status < 500 && status != 408 && status != 429;
+    }
+
+    public static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(cause != null ? cause.getMessage() : e.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        httpClient.close();
+        if (archive != null) {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close response archive: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package org.nexters.memecrawler.network;
+
+import org.jsoup.nodes.Document;
+
+public record FetchedPage(String url, Document document, boolean notModified) {
+}
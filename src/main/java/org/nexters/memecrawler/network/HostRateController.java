@@ -0,0 +1,116 @@
+package org.nexters.memecrawler.network;
+
+import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.util.TokenBucket;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HostRateController {
+    private static final HostRateController SHARED = new HostRateController(
+            CrawlerConfig.INITIAL_REQUESTS_PER_SECOND,
+            CrawlerConfig.MIN_REQUESTS_PER_SECOND,
+            CrawlerConfig.MAX_REQUESTS_PER_SECOND);
+
+    private static final double LATENCY_EWMA_ALPHA = 0.1;
+
+    private final double initialRate;
+    private final double minRate;
+    private final double maxRate;
+    private final Map<String, HostState> hosts = new ConcurrentHashMap<>();
+
+    public HostRateController(double initialRate, double minRate, double maxRate) {
+        this.initialRate = initialRate;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+    }
+
+    public static HostRateController shared() {
+        return SHARED;
+    }
+
+    public void acquire(String host) throws InterruptedException {
+        stateOf(host).bucket.acquire(1);
+    }
+
+    public void onResponse(String host, int statusCode, long latencyNanos, Optional<String> retryAfter) {
+        HostState state = stateOf(host);
+
+        if (statusCode == 429 || statusCode == 503) {
+            decrease(state, CrawlerConfig.RATE_DECREASE_FACTOR);
+            retryAfter.flatMap(HostRateController::parseRetryAfter)
+                    .ifPresent(delay -> state.bucket.pauseFor(delay.toNanos()));
+            return;
+        }
+        if (statusCode >= 500) {
+            decrease(state, CrawlerConfig.RATE_DECREASE_FACTOR);
+            return;
+        }
+
+        long baseline = state.updateLatency(latencyNanos);
+        if (baseline > 0 && latencyNanos > baseline * CrawlerConfig.LATENCY_BACKOFF_RATIO) {
+            decrease(state, CrawlerConfig.LATENCY_DECREASE_FACTOR);
+        } else if (statusCode < 300) {
+            state.bucket.updateRate(rate -> Math.min(maxRate, rate + CrawlerConfig.RATE_ADDITIVE_INCREASE));
+        }
+    }
+
+    public void onFailure(String host) {
+        decrease(stateOf(host), CrawlerConfig.RATE_DECREASE_FACTOR);
+    }
+
+    public double currentRate(String host) {
+        return stateOf(host).bucket.getRate();
+    }
+
+    private void decrease(HostState state, double factor) {
+        state.bucket.updateRate(rate -> Math.max(minRate, rate * factor));
+    }
+
+    private HostState stateOf(String host) {
+        return hosts.computeIfAbsent(host, h -> new HostState(new TokenBucket(initialRate, 1)));
+    }
+
+    static Optional<Duration> parseRetryAfter(String value) {
+        String trimmed = value.trim();
+        try {
+            return Optional.of(Duration.ofSeconds(Long.parseLong(trimmed)));
+        } catch (NumberFormatException ignored) {
+            // HTTP-date 형식
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt);
+            return delay.isNegative() ? Optional.empty() : Optional.of(delay);
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class HostState {
+        private final TokenBucket bucket;
+        private final AtomicLong latencyEwmaNanos = new AtomicLong(0);
+
+        private HostState(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+
+        private long updateLatency(long sampleNanos) {
+            while (true) {
+                long previous = latencyEwmaNanos.get();
+                long updated = previous == 0
+                        ? sampleNanos
+                        : (long) (previous + LATENCY_EWMA_ALPHA * (sampleNanos - previous));
+                if (latencyEwmaNanos.compareAndSet(previous, updated)) {
+                    return previous;
+                }
+            }
+        }
+    }
+}
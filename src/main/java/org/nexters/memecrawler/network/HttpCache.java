@@ -0,0 +1,66 @@
+package org.nexters.memecrawler.network;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.nexters.memecrawler.util.FileUtils;
+import org.nexters.memecrawler.util.HashUtils;
+import org.nexters.memecrawler.util.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+public class HttpCache {
+    private static final ObjectReader entryReader = Json.MAPPER.readerFor(Entry.class);
+    private static final ObjectWriter entryWriter = Json.MAPPER.writerFor(Entry.class);
+
+    private final Path directory;
+
+    public HttpCache(String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    public Optional<Entry> lookup(String url) {
+        Path metaFile = metaFileFor(url);
+        if (!Files.exists(metaFile) || !Files.exists(bodyFileFor(url))) {
+            return Optional.empty();
+        }
+        try {
+            Entry entry = entryReader.readValue(metaFile.toFile());
+            return entry.url().equals(url) ? Optional.of(entry) : Optional.empty();
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable HTTP cache entry for " + url + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public byte[] readBody(String url) throws IOException {
+        return Files.readAllBytes(bodyFileFor(url));
+    }
+
+    public void store(Entry entry, byte[] body) throws IOException {
+        FileUtils.ensureDirectoryExists(directory.toString());
+        // 본문을 먼저 쓰고 메타데이터를 마지막에 교체해야 중단 시에도 짝이 맞는다
+        writeAtomically(bodyFileFor(entry.url()), body);
+        writeAtomically(metaFileFor(entry.url()), entryWriter.writeValueAsBytes(entry));
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path metaFileFor(String url) {
+        return directory.resolve(HashUtils.sha256Hex(url) + ".json");
+    }
+
+    private Path bodyFileFor(String url) {
+        return directory.resolve(HashUtils.sha256Hex(url) + ".body");
+    }
+
+    public record Entry(String url, String etag, String lastModified, String contentType) {
+    }
+}
@@ -0,0 +1,293 @@
+package org.nexters.memecrawler.network;
+
+import org.jsoup.nodes.Document;
+import org.nexters.memecrawler.util.FileUtils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+// 받은 응답 원문과 헤더를 WARC와 비슷한 형식으로 보관한다. 레코드마다 독립된 gzip 멤버로 이어 쓰고
+// 파일이 maxFileBytes를 넘으면 다음 파일로 넘어간다. replay는 보관된 응답으로 네트워크 없이 추출을 다시 돌린다.
+//
+// WARC/1.0
+// WARC-Type: response
+// WARC-Target-URI: <요청 URL>
+// WARC-Final-URI: <리다이렉트 후 URL>
+// WARC-Date: <ISO-8601>
+// Content-Length: <블록 길이>
+//
+// <HTTP 상태 줄, 헤더, 빈 줄, 본문>
+public class ResponseArchive implements Closeable {
+    private static final String FILE_PREFIX = "archive-";
+    private static final String FILE_SUFFIX = ".warc.gz";
+    private static final String CRLF = "\r\n";
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private FileChannel current;
+    private int nextFileNumber = -1;
+
+    public ResponseArchive(Path directory, long maxFileBytes) {
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+    }
+
+    public synchronized void append(String url, String finalUrl, int status, Map<String, List<String>> headers,
+                                    byte[] body) throws IOException {
+        StringBuilder http = new StringBuilder("HTTP/1.1 ").append(status).append(CRLF);
+        headers.forEach((name, values) -> {
+            // 본문은 이미 풀린 상태로 저장하므로 전송 관련 헤더는 남기지 않는다
+            if (name.startsWith(":") || name.equalsIgnoreCase("content-encoding")
+                    || name.equalsIgnoreCase("transfer-encoding")) {
+                return;
+            }
+            for (String value : values) {
+                http.append(name).append(": ").append(value).append(CRLF);
+            }
+        });
+        http.append(CRLF);
+        byte[] httpHead = http.toString().getBytes(StandardCharsets.UTF_8);
+
+        String warcHead = "WARC/1.0" + CRLF
+            + "WARC-Type: response" + CRLF
+            + "WARC-Target-URI: " + url + CRLF
+            + "WARC-Final-URI: " + finalUrl + CRLF
+            + "WARC-Date: " + Instant.now() + CRLF
+            + "Content-Length: " + (httpHead.length + body.length) + CRLF
+            + CRLF;
+
+        ByteArrayOutputStream member = new ByteArrayOutputStream(body.length / 4 + 256);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(member)) {
+            gzip.write(warcHead.getBytes(StandardCharsets.UTF_8));
+            gzip.write(httpHead);
+            gzip.write(body);
+            gzip.write((CRLF + CRLF).getBytes(StandardCharsets.UTF_8));
+        }
+
+        FileChannel channel = channelFor(member.size());
+        ByteBuffer bytes = ByteBuffer.wrap(member.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private FileChannel channelFor(int recordBytes) throws IOException {
+        if (current != null && current.size() > 0 && current.size() + recordBytes > maxFileBytes) {
+            current.close();
+            current = null;
+        }
+        if (current == null) {
+            FileUtils.ensureDirectoryExists(directory.toString());
+            if (nextFileNumber < 0) {
+                List<Path> existing = archiveFiles(directory);
+                nextFileNumber = existing.isEmpty() ? 0 : fileNumber(existing.get(existing.size() - 1)) + 1;
+            }
+            // 이전 실행의 파일은 끝이 잘렸을 수 있으므로 이어 쓰지 않고 항상 새 파일을 연다
+            Path file = directory.resolve(String.format("%s%05d%s", FILE_PREFIX, nextFileNumber++, FILE_SUFFIX));
+            current = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    // 보관된 응답 중 accept를 통과한 URL마다 최신 것만 파싱해 넘긴다. 최신 파일부터 거꾸로 훑어 각 파일을 한 번만 풀고,
+    // 파싱은 parallelism개 스레드에서 한다. consumer는 여러 스레드에서 동시에 불리지만 같은 URL로는 동시에 불리지 않는다
+    public static int replay(Path directory, int parallelism, Predicate<String> accept,
+                             Consumer<FetchedPage> consumer) throws IOException {
+        List<Path> files = archiveFiles(directory);
+
+        // URL마다 지금까지 본 가장 새 레코드 위치. 더 새 파일에서 이미 골랐으면 건너뛰고, 같은 파일 안에서는 뒤 레코드가 이긴다
+        Map<String, Long> claimed = new ConcurrentHashMap<>();
+        Object[] urlLocks = new Object[64];
+        Arrays.setAll(urlLocks, i -> new Object());
+
+        ExecutorService parsers = Executors.newFixedThreadPool(parallelism);
+        // 대기 중인 레코드 수를 묶어 메모리를 제한한다
+        Semaphore pending = new Semaphore(parallelism * 4);
+        int[] submitted = {0};
+        try {
+            for (int fileIndex = files.size() - 1; fileIndex >= 0; fileIndex--) {
+                int index = fileIndex;
+                readRecords(files.get(fileIndex), (ordinal, record) -> {
+                    if (!accept.test(record.url())) {
+                        return;
+                    }
+                    long position = position(index, ordinal);
+                    Long previous = claimed.get(record.url());
+                    if (previous != null && previous > position) {
+                        return;
+                    }
+                    claimed.put(record.url(), position);
+                    pending.acquireUninterruptibly();
+                    submitted[0]++;
+                    parsers.execute(() -> {
+                        try {
+                            if (claimed.get(record.url()) != position) {
+                                return;
+                            }
+                            Document document = FetchEngine.parse(record.body(), record.contentType(), record.finalUrl());
+                            synchronized (urlLocks[Math.floorMod(record.url().hashCode(), urlLocks.length)]) {
+                                // 파싱하는 동안 같은 파일의 더 뒤 레코드가 골랐으면 그쪽에 맡긴다
+                                if (claimed.get(record.url()) == position) {
+                                    consumer.accept(new FetchedPage(record.url(), document, false));
+                                }
+                            }
+                        } catch (Exception e) {
+                            System.err.println("Replay failed for " + record.url() + ": " + e.getMessage());
+                        } finally {
+                            pending.release();
+                        }
+                    });
+                });
+            }
+        } finally {
+            parsers.shutdown();
+            try {
+                parsers.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return submitted[0];
+    }
+
+    private static long position(int fileIndex, int ordinal) {
+        return ((long) fileIndex << 32) | ordinal;
+    }
+
+    private record ArchivedResponse(String url, String finalUrl, String contentType, byte[] body) {
+    }
+
+    private interface RecordHandler {
+        void accept(int ordinal, ArchivedResponse record);
+    }
+
+    private static void readRecords(Path file, RecordHandler handler) throws IOException {
+        try (InputStream in = new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file), 1 << 16), 1 << 16)) {
+            for (int ordinal = 0; ; ordinal++) {
+                Map<String, String> warcHeaders = readHeaderBlock(in);
+                if (warcHeaders == null) {
+                    return;
+                }
+                int length = Integer.parseInt(warcHeaders.get("content-length"));
+                byte[] block = in.readNBytes(length);
+                if (block.length < length) {
+                    throw new EOFException();
+                }
+                in.readNBytes(4);
+                handler.accept(ordinal, parseBlock(warcHeaders, block));
+            }
+        } catch (EOFException | ZipException e) {
+            // 기록 도중 끊긴 마지막 레코드
+            System.err.println("Archive " + file.getFileName() + " ends with a truncated record");
+        }
+    }
+
+    private static ArchivedResponse parseBlock(Map<String, String> warcHeaders, byte[] block) {
+        int bodyStart = 0;
+        String contentType = null;
+        int lineStart = 0;
+        for (int i = 0; i + 1 < block.length; i++) {
+            if (block[i] != '\r' || block[i + 1] != '\n') {
+                continue;
+            }
+            if (i == lineStart) {
+                bodyStart = i + 2;
+                break;
+            }
+            String line = new String(block, lineStart, i - lineStart, StandardCharsets.UTF_8);
+            if (line.regionMatches(true, 0, "content-type:", 0, 13)) {
+                contentType = line.substring(13).trim();
+            }
+            lineStart = i + 2;
+        }
+        byte[] body = new byte[block.length - bodyStart];
+        System.arraycopy(block, bodyStart, body, 0, body.length);
+        return new ArchivedResponse(warcHeaders.get("warc-target-uri"), warcHeaders.get("warc-final-uri"),
+            contentType, body);
+    }
+
+    // 스트림 끝이면 null
+    private static Map<String, String> readHeaderBlock(InputStream in) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        boolean sawAny = false;
+        int b;
+        while ((b = in.read()) != -1) {
+            sawAny = true;
+            if (b != '\n') {
+                if (b != '\r') {
+                    line.write(b);
+                }
+                continue;
+            }
+            String text = line.toString(StandardCharsets.UTF_8);
+            line.reset();
+            if (text.isEmpty()) {
+                return headers;
+            }
+            int colon = text.indexOf(':');
+            if (colon > 0) {
+                headers.put(text.substring(0, colon).trim().toLowerCase(), text.substring(colon + 1).trim());
+            }
+        }
+        if (sawAny) {
+            throw new EOFException();
+        }
+        return null;
+    }
+
+    private static List<Path> archiveFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+                })
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static int fileNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,54 @@
+package org.nexters.memecrawler.pipeline;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 단계 사이의 유한 큐. 가득 차면 put이 막혀 앞 단계가 뒤 단계 속도에 맞춰진다.
+// 생산자가 모두 끝나면 종료 표식을 넣고, take는 표식을 만나면 null을 돌려준다.
+public class BoundedQueue<T> {
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final AtomicInteger openProducers;
+
+    public BoundedQueue(int capacity, int producers) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.openProducers = new AtomicInteger(producers);
+    }
+
+    public void put(T item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("pipeline interrupted");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T take() throws InterruptedException {
+        Object item = queue.take();
+        if (item == END) {
+            // 같은 큐를 읽는 다른 작업자도 종료를 볼 수 있게 되돌려 놓는다
+            queue.put(END);
+            return null;
+        }
+        return (T) item;
+    }
+
+    public void producerDone() {
+        if (openProducers.decrementAndGet() == 0) {
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
@@ -0,0 +1,105 @@
+package org.nexters.memecrawler.pipeline;
+
+import org.nexters.memecrawler.metrics.Counter;
+import org.nexters.memecrawler.metrics.LatencyHistogram;
+import org.nexters.memecrawler.metrics.MetricsRegistry;
+import org.nexters.memecrawler.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// 입력 큐에서 꺼내 처리하고 출력 큐로 넘기는 작업자 묶음. 작업자마다 가상 스레드 하나를 쓴다.
+// 항목 하나의 실패는 기록만 하고 다음 항목으로 넘어간다. 항목 전체(페이지 HTML 등)를 로그에 싣지 않도록
+// 실패 로그에는 describe가 돌려준 짧은 이름만 남긴다.
+public class Stage {
+
+    @FunctionalInterface
+    public interface Processor<I, O> {
+        void process(I item, Consumer<O> emit) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Source<O> {
+        void run(Consumer<O> emit) throws Exception;
+    }
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private Stage() {
+    }
+
+    public static <O> Stage source(String name, BoundedQueue<O> output, Source<O> source) {
+        Stage stage = new Stage();
+        Counter emitted = itemCounter(name);
+        stage.workers.add(Thread.ofVirtual().name(name).start(() -> {
+            try {
+                source.run(item -> {
+                    output.put(item);
+                    emitted.increment();
+                });
+            } catch (CancellationException e) {
+                // 파이프라인 중단
+            } catch (Exception e) {
+                Log.warn("[%s] stage failed: %s", name, e.getMessage());
+            } finally {
+                output.producerDone();
+            }
+        }));
+        return stage;
+    }
+
+    public static <I, O> Stage start(String name, int workerCount, BoundedQueue<I> input, BoundedQueue<O> output,
+                                     Function<? super I, String> describe, Processor<I, O> processor) {
+        Stage stage = new Stage();
+        Counter processed = itemCounter(name);
+        LatencyHistogram latency = MetricsRegistry.global().histogram(
+            "memecrawler_pipeline_" + name + "_seconds", "Time spent per item in the " + name + " stage");
+
+        for (int i = 0; i < workerCount; i++) {
+            stage.workers.add(Thread.ofVirtual().name(name + "-" + i).start(() -> {
+                try {
+                    I item;
+                    while ((item = input.take()) != null) {
+                        long start = latency.startTimer();
+                        try {
+                            processor.process(item, output::put);
+                            processed.increment();
+                        } catch (CancellationException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            Log.warn("[%s] %s: %s", name, describe.apply(item), e.getMessage());
+                        } finally {
+                            latency.recordSince(start);
+                        }
+                    }
+                } catch (InterruptedException | CancellationException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    output.producerDone();
+                }
+            }));
+        }
+        return stage;
+    }
+
+    // 마지막 단계처럼 내보낼 곳이 없는 단계용
+    public static <I> Stage sink(String name, int workerCount, BoundedQueue<I> input,
+                                 Function<? super I, String> describe, Consumer<I> consumer) {
+        return start(name, workerCount, input, new BoundedQueue<Void>(1, workerCount), describe,
+            (item, emit) -> consumer.accept(item));
+    }
+
+    public void await() throws InterruptedException {
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private static Counter itemCounter(String name) {
+        return MetricsRegistry.global().counter(
+            "memecrawler_pipeline_" + name + "_items_total", "Items completed by the " + name + " stage");
+    }
+}
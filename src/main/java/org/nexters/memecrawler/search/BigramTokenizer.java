@@ -0,0 +1,67 @@
+package org.nexters.memecrawler.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 한글/한자/가나는 띄어쓰기와 조사에 영향받지 않도록 글자 2-gram으로, 영문/숫자는 단어 단위로 자른다
+public class BigramTokenizer {
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        StringBuilder run = new StringBuilder();
+        boolean runIsCjk = false;
+        int runCodePoints = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (!Character.isLetterOrDigit(codePoint)) {
+                flush(run, runIsCjk, runCodePoints, tokens);
+                runCodePoints = 0;
+                continue;
+            }
+
+            boolean cjk = isCjk(codePoint);
+            if (runCodePoints > 0 && cjk != runIsCjk) {
+                flush(run, runIsCjk, runCodePoints, tokens);
+                runCodePoints = 0;
+            }
+            runIsCjk = cjk;
+            run.appendCodePoint(Character.toLowerCase(codePoint));
+            runCodePoints++;
+        }
+        flush(run, runIsCjk, runCodePoints, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder run, boolean cjk, int codePoints, List<String> tokens) {
+        if (codePoints == 0) {
+            return;
+        }
+        if (!cjk || codePoints == 1) {
+            tokens.add(run.toString());
+        } else {
+            int start = 0;
+            int second = run.offsetByCodePoints(0, 1);
+            for (int n = 1; n < codePoints; n++) {
+                int end = run.offsetByCodePoints(second, 1);
+                tokens.add(run.substring(start, end));
+                start = second;
+                second = end;
+            }
+        }
+        run.setLength(0);
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HANGUL
+            || script == Character.UnicodeScript.HAN
+            || script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA;
+    }
+}
@@ -0,0 +1,238 @@
+package org.nexters.memecrawler.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// 불변 색인 세그먼트. 파일 전체를 메모리 매핑해 읽는다.
+//
+// header(32): magic, termCount, minDocId, maxDocId, entriesOffset(long), blobOffset(long)
+// postings: 단어마다 (docId 차분 varint, tf varint) 반복
+// blob: UTF-8 바이트 순으로 정렬된 단어들
+// entries(24 x termCount): blob 내 위치(int), 단어 길이(int), postings 위치(long), postings 길이(int), df(int)
+final class IndexSegment implements Closeable {
+    private static final int MAGIC = 0x53494458;
+    private static final int HEADER_BYTES = 32;
+    private static final int ENTRY_BYTES = 24;
+
+    interface PostingConsumer {
+        void accept(int docId, int termFrequency);
+    }
+
+    final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int termCount;
+    private final int minDocId;
+    private final int maxDocId;
+    private final long entriesOffset;
+    private final long blobOffset;
+
+    private IndexSegment(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("색인 세그먼트 형식이 아닙니다: " + path);
+        }
+        this.termCount = buffer.getInt(4);
+        this.minDocId = buffer.getInt(8);
+        this.maxDocId = buffer.getInt(12);
+        this.entriesOffset = buffer.getLong(16);
+        this.blobOffset = buffer.getLong(24);
+    }
+
+    static IndexSegment open(Path path) throws IOException {
+        return new IndexSegment(path);
+    }
+
+    int termCount() {
+        return termCount;
+    }
+
+    int minDocId() {
+        return minDocId;
+    }
+
+    int maxDocId() {
+        return maxDocId;
+    }
+
+    int find(byte[] term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareTerm(mid, term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    byte[] term(int entry) {
+        int position = entryPosition(entry);
+        byte[] term = new byte[buffer.getInt(position + 4)];
+        buffer.get((int) blobOffset + buffer.getInt(position), term);
+        return term;
+    }
+
+    int docFreq(int entry) {
+        return buffer.getInt(entryPosition(entry) + 20);
+    }
+
+    void forEachPosting(int entry, PostingConsumer consumer) {
+        int position = entryPosition(entry);
+        int offset = (int) buffer.getLong(position + 8);
+        int end = offset + buffer.getInt(position + 16);
+        int docId = 0;
+        int[] cursor = {offset};
+        while (cursor[0] < end) {
+            docId += readVarInt(buffer, cursor);
+            consumer.accept(docId, readVarInt(buffer, cursor));
+        }
+    }
+
+    private int compareTerm(int entry, byte[] term) {
+        int position = entryPosition(entry);
+        int start = (int) blobOffset + buffer.getInt(position);
+        int length = buffer.getInt(position + 4);
+        int common = Math.min(length, term.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(buffer.get(start + i) & 0xff, term[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, term.length);
+    }
+
+    private int entryPosition(int entry) {
+        return (int) entriesOffset + entry * ENTRY_BYTES;
+    }
+
+    static int readVarInt(ByteBuffer buffer, int[] cursor) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(cursor[0]++);
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // 단어를 UTF-8 바이트 오름차순으로 받아 세그먼트 파일 하나를 쓴다
+    static final class Writer implements Closeable {
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final ByteArrayOutputStream blob = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream postings = new ByteArrayOutputStream();
+        private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_BYTES);
+        private long position = HEADER_BYTES;
+        private int termCount;
+        private int minDocId = Integer.MAX_VALUE;
+        private int maxDocId = -1;
+        private byte[] lastTerm;
+
+        Writer(Path target) throws IOException {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+            this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void addTerm(byte[] term, int[] docIds, int[] termFrequencies, int count) throws IOException {
+            if (count == 0) {
+                return;
+            }
+            if (lastTerm != null && Arrays.compareUnsigned(lastTerm, term) >= 0) {
+                throw new IllegalArgumentException("단어는 오름차순으로 추가해야 합니다");
+            }
+            lastTerm = term;
+
+            postings.reset();
+            int previous = 0;
+            for (int i = 0; i < count; i++) {
+                writeVarInt(postings, docIds[i] - previous);
+                writeVarInt(postings, termFrequencies[i]);
+                previous = docIds[i];
+            }
+            minDocId = Math.min(minDocId, docIds[0]);
+            maxDocId = Math.max(maxDocId, docIds[count - 1]);
+
+            entry.clear();
+            entry.putInt(blob.size()).putInt(term.length).putLong(position).putInt(postings.size()).putInt(count);
+            entries.write(entry.array(), 0, ENTRY_BYTES);
+            blob.write(term, 0, term.length);
+            writeFully(ByteBuffer.wrap(postings.toByteArray()));
+            termCount++;
+        }
+
+        void finish() throws IOException {
+            long blobOffset = position;
+            writeFully(ByteBuffer.wrap(blob.toByteArray()));
+            long entriesOffset = position;
+            writeFully(ByteBuffer.wrap(entries.toByteArray()));
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(termCount)
+                .putInt(termCount == 0 ? 0 : minDocId)
+                .putInt(maxDocId)
+                .putLong(entriesOffset)
+                .putLong(blobOffset)
+                .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private void writeFully(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel.isOpen()) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
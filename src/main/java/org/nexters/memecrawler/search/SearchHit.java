@@ -0,0 +1,4 @@
+package org.nexters.memecrawler.search;
+
+public record SearchHit(String key, String title, double score) {
+}
@@ -0,0 +1,374 @@
+package org.nexters.memecrawler.search;
+
+import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.util.FileUtils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+// 밈 문서용 역색인. 추가된 문서는 메모리 버퍼에 모았다가 불변 세그먼트로 내려 쓰고,
+// 검색은 매핑된 세그먼트들과 버퍼를 함께 훑어 BM25로 순위를 매긴다.
+// 같은 key로 다시 추가하면 새 문서가 이전 문서를 대체한다.
+public class SearchIndex implements Closeable {
+    private static final String DOCS_FILE = "docs.log";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".idx";
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Path directory;
+    private final Path docsFile;
+    private final List<IndexSegment> segments = new ArrayList<>();
+
+    // 문서 테이블: docId를 배열 위치로 쓴다
+    private final List<String> docKeys = new ArrayList<>();
+    private final List<String> docTitles = new ArrayList<>();
+    private int[] docLengths = new int[1024];
+    private final Map<String, Integer> latestDocByKey = new HashMap<>();
+    private final BitSet deletedDocs = new BitSet();
+    private long liveLengthSum;
+
+    // 아직 세그먼트로 내려가지 않은 문서
+    private final Map<String, IntList> bufferedPostings = new HashMap<>();
+    private final List<String> bufferedDocLines = new ArrayList<>();
+    private int bufferedPostingCount;
+    private int nextSegmentNumber;
+
+    public SearchIndex(String directory) throws IOException {
+        this.directory = Paths.get(directory);
+        this.docsFile = this.directory.resolve(DOCS_FILE);
+        FileUtils.ensureDirectoryExists(directory);
+        loadSegments();
+        loadDocuments();
+    }
+
+    public static SearchIndex open() throws IOException {
+        return new SearchIndex(CrawlerConfig.SEARCH_INDEX_DIR);
+    }
+
+    public synchronized void add(String key, String title, String text) throws IOException {
+        List<String> tokens = BigramTokenizer.tokenize(text);
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : tokens) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+
+        int docId = registerDocument(key, title, tokens.size());
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            bufferedPostings.computeIfAbsent(entry.getKey(), term -> new IntList()).add(docId, entry.getValue());
+        }
+        bufferedPostingCount += termFrequencies.size();
+        bufferedDocLines.add(docId + "\t" + tokens.size() + "\t" + singleLine(key) + "\t" + singleLine(title));
+
+        if (bufferedPostingCount >= CrawlerConfig.SEARCH_MAX_BUFFERED_POSTINGS) {
+            flush();
+        }
+    }
+
+    public synchronized List<SearchHit> search(String query, int limit) {
+        int liveDocs = latestDocByKey.size();
+        if (liveDocs == 0 || limit <= 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(1.0, (double) liveLengthSum / liveDocs);
+        float[] scores = new float[docKeys.size()];
+
+        for (String term : BigramTokenizer.tokenize(query).stream().distinct().toList()) {
+            byte[] termBytes = term.getBytes(StandardCharsets.UTF_8);
+            int[] entries = new int[segments.size()];
+            int docFreq = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                entries[i] = segments.get(i).find(termBytes);
+                if (entries[i] >= 0) {
+                    docFreq += segments.get(i).docFreq(entries[i]);
+                }
+            }
+            IntList buffered = bufferedPostings.get(term);
+            if (buffered != null) {
+                docFreq += buffered.size() / 2;
+            }
+            if (docFreq == 0) {
+                continue;
+            }
+
+            double idf = Math.log(1 + (liveDocs - docFreq + 0.5) / (docFreq + 0.5));
+            IndexSegment.PostingConsumer scorer = (docId, tf) -> {
+                if (docId < scores.length && !deletedDocs.get(docId)) {
+                    double norm = K1 * (1 - B + B * docLengths[docId] / averageLength);
+                    scores[docId] += (float) (idf * tf * (K1 + 1) / (tf + norm));
+                }
+            };
+            for (int i = 0; i < segments.size(); i++) {
+                if (entries[i] >= 0) {
+                    segments.get(i).forEachPosting(entries[i], scorer);
+                }
+            }
+            if (buffered != null) {
+                buffered.forEachPair(scorer);
+            }
+        }
+
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1,
+            Comparator.<Integer>comparingDouble(docId -> scores[docId]).thenComparing(Comparator.reverseOrder()));
+        for (int docId = 0; docId < scores.length; docId++) {
+            if (scores[docId] <= 0) {
+                continue;
+            }
+            top.offer(docId);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int docId = top.poll();
+            hits.add(new SearchHit(docKeys.get(docId), docTitles.get(docId), scores[docId]));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    public synchronized int documentCount() {
+        return latestDocByKey.size();
+    }
+
+    public synchronized void flush() throws IOException {
+        if (bufferedDocLines.isEmpty()) {
+            return;
+        }
+
+        // 세그먼트를 먼저 쓰고 문서 테이블을 나중에 기록한다. 중간에 멈추면 문서 테이블에 없는 postings는 검색에서 무시된다
+        List<Map.Entry<byte[], IntList>> terms = new ArrayList<>(bufferedPostings.size());
+        for (Map.Entry<String, IntList> entry : bufferedPostings.entrySet()) {
+            terms.add(Map.entry(entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue()));
+        }
+        terms.sort((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+
+        Path segmentPath = nextSegmentPath();
+        try (IndexSegment.Writer writer = new IndexSegment.Writer(segmentPath)) {
+            for (Map.Entry<byte[], IntList> term : terms) {
+                IntList postings = term.getValue();
+                writer.addTerm(term.getKey(), postings.evens(), postings.odds(), postings.size() / 2);
+            }
+            writer.finish();
+        }
+        segments.add(IndexSegment.open(segmentPath));
+
+        try (BufferedWriter writer = Files.newBufferedWriter(docsFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            if (!FileUtils.endsWithNewline(docsFile)) {
+                writer.write('\n');
+            }
+            for (String line : bufferedDocLines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+        bufferedPostings.clear();
+        bufferedDocLines.clear();
+        bufferedPostingCount = 0;
+
+        if (segments.size() > CrawlerConfig.SEARCH_MAX_SEGMENTS) {
+            mergeSegments();
+        }
+    }
+
+    // 모든 세그먼트를 하나로 합치면서 대체된 문서의 postings를 버린다
+    private void mergeSegments() throws IOException {
+        PriorityQueue<TermCursor> cursors = new PriorityQueue<>(
+            Comparator.<TermCursor, byte[]>comparing(TermCursor::term, Arrays::compareUnsigned)
+                .thenComparingInt(TermCursor::segmentOrder));
+        for (int i = 0; i < segments.size(); i++) {
+            if (segments.get(i).termCount() > 0) {
+                cursors.add(new TermCursor(segments.get(i), i, 0, segments.get(i).term(0)));
+            }
+        }
+
+        Path mergedPath = nextSegmentPath();
+        IntList merged = new IntList();
+        try (IndexSegment.Writer writer = new IndexSegment.Writer(mergedPath)) {
+            while (!cursors.isEmpty()) {
+                byte[] term = cursors.peek().term();
+                merged.clear();
+                // 세그먼트 순서대로 꺼내므로 docId가 오름차순으로 이어진다
+                while (!cursors.isEmpty() && Arrays.equals(cursors.peek().term(), term)) {
+                    TermCursor cursor = cursors.poll();
+                    cursor.segment().forEachPosting(cursor.entry(), (docId, tf) -> {
+                        if (!deletedDocs.get(docId)) {
+                            merged.add(docId, tf);
+                        }
+                    });
+                    int nextEntry = cursor.entry() + 1;
+                    if (nextEntry < cursor.segment().termCount()) {
+                        cursors.add(new TermCursor(cursor.segment(), cursor.segmentOrder(), nextEntry,
+                            cursor.segment().term(nextEntry)));
+                    }
+                }
+                writer.addTerm(term, merged.evens(), merged.odds(), merged.size() / 2);
+            }
+            writer.finish();
+        }
+
+        for (IndexSegment segment : segments) {
+            segment.close();
+            Files.deleteIfExists(segment.path);
+        }
+        segments.clear();
+        segments.add(IndexSegment.open(mergedPath));
+    }
+
+    private int registerDocument(String key, String title, int length) {
+        int docId = docKeys.size();
+        docKeys.add(key);
+        docTitles.add(title);
+        if (docId >= docLengths.length) {
+            docLengths = Arrays.copyOf(docLengths, Math.max(docLengths.length * 2, docId + 1));
+        }
+        docLengths[docId] = length;
+
+        Integer previous = latestDocByKey.put(key, docId);
+        if (previous != null) {
+            deletedDocs.set(previous);
+            liveLengthSum -= docLengths[previous];
+        }
+        liveLengthSum += length;
+        return docId;
+    }
+
+    private void loadSegments() throws IOException {
+        List<Path> segmentFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentFiles = files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                })
+                .sorted()
+                .toList();
+        }
+        for (Path path : segmentFiles) {
+            segments.add(IndexSegment.open(path));
+            String name = path.getFileName().toString();
+            int number = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            nextSegmentNumber = Math.max(nextSegmentNumber, number + 1);
+        }
+    }
+
+    private void loadDocuments() throws IOException {
+        // 문서 테이블 기록 전에 멈춘 세그먼트의 docId와 겹치지 않도록 그 뒤부터 번호를 매긴다
+        int maxSegmentDocId = -1;
+        for (IndexSegment segment : segments) {
+            maxSegmentDocId = Math.max(maxSegmentDocId, segment.maxDocId());
+        }
+
+        if (Files.exists(docsFile)) {
+            try (Stream<String> lines = Files.lines(docsFile, StandardCharsets.UTF_8)) {
+                lines.forEach(line -> {
+                    String[] fields = line.split("\t", 4);
+                    if (fields.length < 4) {
+                        return;  // 중간에 끊긴 마지막 줄
+                    }
+                    int docId = Integer.parseInt(fields[0]);
+                    while (docKeys.size() < docId) {
+                        registerOrphan();
+                    }
+                    registerDocument(fields[2], fields[3], Integer.parseInt(fields[1]));
+                });
+            }
+        }
+        while (docKeys.size() <= maxSegmentDocId) {
+            registerOrphan();
+        }
+    }
+
+    private void registerOrphan() {
+        int docId = docKeys.size();
+        docKeys.add(null);
+        docTitles.add(null);
+        if (docId >= docLengths.length) {
+            docLengths = Arrays.copyOf(docLengths, docLengths.length * 2);
+        }
+        deletedDocs.set(docId);
+    }
+
+    private Path nextSegmentPath() {
+        return directory.resolve(String.format("%s%05d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX));
+    }
+
+    private static String singleLine(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        for (IndexSegment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    private record TermCursor(IndexSegment segment, int segmentOrder, int entry, byte[] term) {
+    }
+
+    // (docId, tf) 쌍을 박싱 없이 이어 붙인다
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int docId, int termFrequency) {
+            if (size + 2 > values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = docId;
+            values[size++] = termFrequency;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        int[] evens() {
+            int[] result = new int[size / 2];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = values[i * 2];
+            }
+            return result;
+        }
+
+        int[] odds() {
+            int[] result = new int[size / 2];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = values[i * 2 + 1];
+            }
+            return result;
+        }
+
+        void forEachPair(IndexSegment.PostingConsumer consumer) {
+            for (int i = 0; i < size; i += 2) {
+                consumer.accept(values[i], values[i + 1]);
+            }
+        }
+    }
+}
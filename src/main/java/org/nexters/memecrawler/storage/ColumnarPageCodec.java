@@ -0,0 +1,203 @@
+package org.nexters.memecrawler.storage;
+
+import org.nexters.memecrawler.model.DetailedMemePage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 상세 페이지를 열 단위 바이너리로 바꾼다. 이미지/링크/문단 제목은 필드마다 사전 id 배열 하나씩
+// (href 전부, 그다음 text 전부 ...) 나란히 쓰므로 반복되는 내비게이션 링크는 id 몇 바이트로 줄고,
+// 같은 열의 id가 모여 있어 deflate도 잘 된다. 문서마다 다른 본문은 사전에 넣지 않고 그대로 쓴다.
+//
+// version(1) url originalTitle pageTitle html text crawledAt
+// metaCount (키 id, 값 문자열) x metaCount
+// imageCount src[] alt[] title[]   linkCount href[] text[] title[]   headingCount tag[] text[] id[]
+//
+// 문자열은 (UTF-8 길이 + 1) varint + 바이트, id는 (id + 1) varint이고 0은 null이다
+final class ColumnarPageCodec {
+    // JSON 레코드는 '{'로 시작하므로 첫 바이트로 예전 형식과 구분한다
+    static final byte VERSION = 1;
+
+    private ColumnarPageCodec() {
+    }
+
+    static boolean isColumnar(byte[] bytes) {
+        return bytes.length > 0 && bytes[0] == VERSION;
+    }
+
+    static byte[] encode(DetailedMemePage page, StringDictionary dictionary) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        out.write(VERSION);
+        writeString(out, page.url());
+        writeString(out, page.originalTitle());
+        writeString(out, page.pageTitle());
+        writeString(out, page.wikiContentHtml());
+        writeString(out, page.wikiContentText());
+        writeString(out, page.crawledAt());
+
+        writeVarInt(out, page.metaTags().size());
+        for (Map.Entry<String, String> meta : page.metaTags().entrySet()) {
+            writeId(out, dictionary, meta.getKey());
+            writeString(out, meta.getValue());
+        }
+
+        List<DetailedMemePage.Image> images = page.images();
+        writeVarInt(out, images.size());
+        for (DetailedMemePage.Image image : images) {
+            writeId(out, dictionary, image.src());
+        }
+        for (DetailedMemePage.Image image : images) {
+            writeId(out, dictionary, image.alt());
+        }
+        for (DetailedMemePage.Image image : images) {
+            writeId(out, dictionary, image.title());
+        }
+
+        List<DetailedMemePage.Link> links = page.links();
+        writeVarInt(out, links.size());
+        for (DetailedMemePage.Link link : links) {
+            writeId(out, dictionary, link.href());
+        }
+        for (DetailedMemePage.Link link : links) {
+            writeId(out, dictionary, link.text());
+        }
+        for (DetailedMemePage.Link link : links) {
+            writeId(out, dictionary, link.title());
+        }
+
+        List<DetailedMemePage.Heading> headings = page.headings();
+        writeVarInt(out, headings.size());
+        for (DetailedMemePage.Heading heading : headings) {
+            writeId(out, dictionary, heading.tag());
+        }
+        for (DetailedMemePage.Heading heading : headings) {
+            writeId(out, dictionary, heading.text());
+        }
+        for (DetailedMemePage.Heading heading : headings) {
+            writeId(out, dictionary, heading.id());
+        }
+        return out.toByteArray();
+    }
+
+    // 사전 배열은 레코드를 읽은 뒤에 가져온 것이어야 한다
+    static DetailedMemePage decode(byte[] bytes, String[] dictionary) throws IOException {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            if (in.get() != VERSION) {
+                throw new IOException("알 수 없는 상세 레코드 형식: " + bytes[0]);
+            }
+            String url = readString(in);
+            String originalTitle = readString(in);
+            String pageTitle = readString(in);
+            String wikiContentHtml = readString(in);
+            String wikiContentText = readString(in);
+            String crawledAt = readString(in);
+
+            int metaCount = readVarInt(in);
+            Map<String, String> metaTags = new HashMap<>();
+            for (int i = 0; i < metaCount; i++) {
+                metaTags.put(readId(in, dictionary), readString(in));
+            }
+
+            String[][] imageColumns = readColumns(in, dictionary, 3);
+            List<DetailedMemePage.Image> images = new ArrayList<>(imageColumns[0].length);
+            for (int i = 0; i < imageColumns[0].length; i++) {
+                images.add(new DetailedMemePage.Image(imageColumns[0][i], imageColumns[1][i], imageColumns[2][i]));
+            }
+
+            String[][] linkColumns = readColumns(in, dictionary, 3);
+            List<DetailedMemePage.Link> links = new ArrayList<>(linkColumns[0].length);
+            for (int i = 0; i < linkColumns[0].length; i++) {
+                links.add(new DetailedMemePage.Link(linkColumns[0][i], linkColumns[1][i], linkColumns[2][i]));
+            }
+
+            String[][] headingColumns = readColumns(in, dictionary, 3);
+            List<DetailedMemePage.Heading> headings = new ArrayList<>(headingColumns[0].length);
+            for (int i = 0; i < headingColumns[0].length; i++) {
+                headings.add(new DetailedMemePage.Heading(headingColumns[0][i], headingColumns[1][i], headingColumns[2][i]));
+            }
+
+            return new DetailedMemePage(url, originalTitle, pageTitle, metaTags, wikiContentHtml, wikiContentText,
+                images, links, headings, crawledAt);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("잘린 상세 레코드", e);
+        }
+    }
+
+    private static String[][] readColumns(ByteBuffer in, String[] dictionary, int columnCount) throws IOException {
+        int rows = readVarInt(in);
+        if (rows < 0 || rows > in.remaining()) {
+            throw new IOException("잘못된 행 수: " + rows);
+        }
+        String[][] columns = new String[columnCount][rows];
+        for (String[] column : columns) {
+            for (int i = 0; i < rows; i++) {
+                column[i] = readId(in, dictionary);
+            }
+        }
+        return columns;
+    }
+
+    private static void writeId(ByteArrayOutputStream out, StringDictionary dictionary, String value) {
+        writeVarInt(out, value == null ? 0 : dictionary.intern(value) + 1);
+    }
+
+    private static String readId(ByteBuffer in, String[] dictionary) throws IOException {
+        int id = readVarInt(in) - 1;
+        if (id < 0) {
+            return null;
+        }
+        String value = id < dictionary.length ? dictionary[id] : null;
+        if (value == null) {
+            throw new IOException("문자열 사전에 없는 id: " + id);
+        }
+        return value;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
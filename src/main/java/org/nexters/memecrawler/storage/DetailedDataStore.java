@@ -0,0 +1,101 @@
+package org.nexters.memecrawler.storage;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.model.DetailedMemePage;
+import org.nexters.memecrawler.util.FileUtils;
+import org.nexters.memecrawler.util.Json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+// 상세 크롤 데이터를 URL 키로 세그먼트 저장소에 보관한다.
+// 레코드는 열 단위 바이너리(ColumnarPageCodec)로 쓰고, 링크/이미지/문단 제목 문자열은 저장소 전체가 공유하는 사전에 한 번만 둔다
+public class DetailedDataStore implements Closeable {
+    private static final ObjectReader legacyReader = Json.MAPPER.readerFor(DetailedMemePage.class);
+    private static final String DICTIONARY_FILE = "dictionary.dat";
+
+    private final SegmentStore store;
+    private final StringDictionary dictionary;
+
+    public DetailedDataStore(String directory) throws IOException {
+        this.store = new SegmentStore(directory, CrawlerConfig.SEGMENT_MAX_BYTES);
+        try {
+            this.dictionary = new StringDictionary(Path.of(directory, DICTIONARY_FILE));
+        } catch (IOException | RuntimeException e) {
+            try {
+                store.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+    }
+
+    public static DetailedDataStore open() throws IOException {
+        return new DetailedDataStore(CrawlerConfig.DETAILED_STORE_DIR);
+    }
+
+    public void put(String url, DetailedMemePage detailedData) throws IOException {
+        byte[] record = ColumnarPageCodec.encode(detailedData, dictionary);
+        // 레코드가 가리키는 사전 id가 먼저 파일에 있어야 다시 열었을 때 풀 수 있다
+        dictionary.flush();
+        store.put(url, record);
+    }
+
+    public Optional<DetailedMemePage> get(String url) throws IOException {
+        Optional<byte[]> bytes = store.get(url);
+        return bytes.isPresent() ? Optional.of(decode(bytes.get())) : Optional.empty();
+    }
+
+    public boolean contains(String url) {
+        return store.contains(url);
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    // 예전처럼 문서별 JSON 파일이 필요할 때 outputDir에 풀어 쓴다
+    public int exportJson(String outputDir) throws IOException {
+        FileUtils.ensureDirectoryExists(outputDir);
+        int[] exported = {0};
+        try {
+            store.scan((url, bytes) -> {
+                try {
+                    DetailedMemePage detailedData = decode(bytes);
+                    String title = detailedData.originalTitle() != null ? detailedData.originalTitle() : url;
+                    String fileName = FileUtils.sanitizeFileName(title) + ".json";
+                    FileUtils.saveJsonToFile(detailedData, Paths.get(outputDir, fileName).toString());
+                    exported[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return exported[0];
+    }
+
+    // 열 단위 형식 이전에 JSON으로 저장된 레코드도 읽는다
+    private DetailedMemePage decode(byte[] bytes) throws IOException {
+        if (ColumnarPageCodec.isColumnar(bytes)) {
+            return ColumnarPageCodec.decode(bytes, dictionary.snapshot());
+        }
+        return legacyReader.readValue(bytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            store.close();
+        } finally {
+            dictionary.close();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package org.nexters.memecrawler.storage;
+
+import org.nexters.memecrawler.util.HashUtils;
+import org.nexters.memecrawler.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// 추가 전용 세그먼트 저장소. 레코드마다 deflate로 압축하고 길이/CRC 헤더를 붙여 이어 쓰며,
+// 키(URL) 지문 → 위치 인덱스는 열 때 헤더만 훑어 다시 만든다. 같은 키는 마지막 레코드가 유효하다.
+//
+// 레코드: magic(4) fingerprint(8) keyLength(4) rawLength(4) compressedLength(4) crc32(4) key payload
+public class SegmentStore implements Closeable {
+    private static final int RECORD_MAGIC = 0x4D454D31;
+    private static final int HEADER_BYTES = 28;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final int OFFSET_BITS = 40;
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final Map<Long, Long> index = new HashMap<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment active;
+    private int nextSegmentNumber;
+
+    public SegmentStore(String directory, long maxSegmentBytes) throws IOException {
+        this.directory = Path.of(directory);
+        this.maxSegmentBytes = maxSegmentBytes;
+        Files.createDirectories(this.directory);
+
+        List<Path> segmentFiles;
+        try (Stream<Path> files = Files.list(this.directory)) {
+            segmentFiles = files
+                .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .toList();
+        }
+        for (int i = 0; i < segmentFiles.size(); i++) {
+            Segment segment = openSegment(segmentFiles.get(i));
+            loadSegment(segment, i == segmentFiles.size() - 1);
+            nextSegmentNumber = Math.max(nextSegmentNumber, segmentNumberOf(segmentFiles.get(i)) + 1);
+        }
+        active = segments.isEmpty() ? openSegment(nextSegmentPath()) : segments.get(segments.size() - 1);
+    }
+
+    public synchronized void put(String key, byte[] value) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = deflate(value);
+        CRC32 crc = new CRC32();
+        crc.update(keyBytes);
+        crc.update(compressed);
+
+        int recordBytes = HEADER_BYTES + keyBytes.length + compressed.length;
+        if (active.size > 0 && active.size + recordBytes > maxSegmentBytes) {
+            active.channel.force(false);
+            active = openSegment(nextSegmentPath());
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(recordBytes)
+            .putInt(RECORD_MAGIC)
+            .putLong(HashUtils.fingerprint64(key))
+            .putInt(keyBytes.length)
+            .putInt(value.length)
+            .putInt(compressed.length)
+            .putInt((int) crc.getValue())
+            .put(keyBytes)
+            .put(compressed)
+            .flip();
+
+        long offset = active.size;
+        while (record.hasRemaining()) {
+            active.channel.write(record, offset + record.position());
+        }
+        active.size += recordBytes;
+        index.put(HashUtils.fingerprint64(key), location(active.id, offset));
+    }
+
+    public synchronized Optional<byte[]> get(String key) throws IOException {
+        Long location = index.get(HashUtils.fingerprint64(key));
+        if (location == null || !keyMatches(location, key)) {
+            return Optional.empty();
+        }
+        return Optional.of(readValue(segments.get(segmentOf(location)), (int) offsetOf(location)));
+    }
+
+    // get과 같이 저장된 키까지 비교한다. 지문만 같은 다른 키를 있다고 보면 갱신을 건너뛰게 된다
+    public synchronized boolean contains(String key) {
+        Long location = index.get(HashUtils.fingerprint64(key));
+        try {
+            return location != null && keyMatches(location, key);
+        } catch (IOException e) {
+            // 읽을 수 없으면 없는 것으로 보고 다시 쓰게 한다
+            return false;
+        }
+    }
+
+    private boolean keyMatches(long location, String key) throws IOException {
+        Segment segment = segments.get(segmentOf(location));
+        int offset = (int) offsetOf(location);
+        int keyLength = segment.mapped(offset + HEADER_BYTES).getInt(offset + 12);
+        return key.equals(readKey(segment.mapped(offset + HEADER_BYTES + keyLength), offset, keyLength));
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    // 저장 순서대로 키별 최신 레코드만 돌려준다
+    public synchronized void scan(BiConsumer<String, byte[]> consumer) throws IOException {
+        for (Segment segment : segments) {
+            long offset = 0;
+            while (offset < segment.size) {
+                ByteBuffer buffer = segment.mapped(offset + HEADER_BYTES);
+                int keyLength = buffer.getInt((int) offset + 12);
+                int compressedLength = buffer.getInt((int) offset + 20);
+                long fingerprint = buffer.getLong((int) offset + 4);
+
+                Long latest = index.get(fingerprint);
+                if (latest != null && latest == location(segment.id, offset)) {
+                    String key = readKey(segment.mapped(offset + HEADER_BYTES + keyLength), (int) offset, keyLength);
+                    consumer.accept(key, readValue(segment, (int) offset));
+                }
+                offset += HEADER_BYTES + keyLength + compressedLength;
+            }
+        }
+    }
+
+    private void loadSegment(Segment segment, boolean isLast) throws IOException {
+        long offset = 0;
+        ByteBuffer buffer = segment.mapped(segment.size);
+        while (offset < segment.size) {
+            int recordBytes = validRecordLength(buffer, offset, segment.size);
+            if (recordBytes < 0) {
+                break;
+            }
+            index.put(buffer.getLong((int) offset + 4), location(segment.id, offset));
+            offset += recordBytes;
+        }
+
+        if (offset < segment.size) {
+            Log.warn("손상된 세그먼트 꼬리 무시: %s (offset %d)", segment.path.getFileName(), offset);
+            if (isLast) {
+                segment.channel.truncate(offset);
+            }
+            segment.size = offset;
+            segment.mapped = null;
+        }
+    }
+
+    private static int validRecordLength(ByteBuffer buffer, long offset, long limit) {
+        if (offset + HEADER_BYTES > limit || buffer.getInt((int) offset) != RECORD_MAGIC) {
+            return -1;
+        }
+        int keyLength = buffer.getInt((int) offset + 12);
+        int compressedLength = buffer.getInt((int) offset + 20);
+        if (keyLength < 0 || compressedLength < 0 || offset + HEADER_BYTES + keyLength + compressedLength > limit) {
+            return -1;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice((int) offset + HEADER_BYTES, keyLength + compressedLength));
+        if ((int) crc.getValue() != buffer.getInt((int) offset + 24)) {
+            return -1;
+        }
+        return HEADER_BYTES + keyLength + compressedLength;
+    }
+
+    private static String readKey(ByteBuffer buffer, int offset, int keyLength) {
+        byte[] keyBytes = new byte[keyLength];
+        buffer.get(offset + HEADER_BYTES, keyBytes);
+        return new String(keyBytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readValue(Segment segment, int offset) throws IOException {
+        ByteBuffer header = segment.mapped(offset + HEADER_BYTES);
+        int keyLength = header.getInt(offset + 12);
+        int rawLength = header.getInt(offset + 16);
+        int compressedLength = header.getInt(offset + 20);
+        ByteBuffer payload = segment.mapped(offset + HEADER_BYTES + keyLength + compressedLength)
+            .slice(offset + HEADER_BYTES + keyLength, compressedLength);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            byte[] value = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(value, read, rawLength - read);
+            }
+            return value;
+        } catch (DataFormatException e) {
+            throw new IOException("손상된 레코드 (offset " + offset + ")", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] deflate(byte[] value) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(value);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, value.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private Segment openSegment(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(segments.size(), path, channel);
+        segments.add(segment);
+        return segment;
+    }
+
+    private Path nextSegmentPath() {
+        return directory.resolve(String.format("%s%05d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX));
+    }
+
+    private static int segmentNumberOf(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long location(int segmentId, long offset) {
+        return ((long) segmentId << OFFSET_BITS) | offset;
+    }
+
+    private static int segmentOf(long location) {
+        return (int) (location >>> OFFSET_BITS);
+    }
+
+    private static long offsetOf(long location) {
+        return location & ((1L << OFFSET_BITS) - 1);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.channel.force(false);
+        for (Segment segment : segments) {
+            segment.channel.close();
+        }
+    }
+
+    private static final class Segment {
+        private final int id;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        private MappedByteBuffer mapped;
+
+        private Segment(int id, Path path, FileChannel channel) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        // 요청한 위치까지 매핑되어 있지 않으면(활성 세그먼트에 새로 쓴 경우) 다시 매핑한다
+        private MappedByteBuffer mapped(long requiredBytes) throws IOException {
+            if (mapped == null || mapped.capacity() < requiredBytes) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            return mapped;
+        }
+    }
+}
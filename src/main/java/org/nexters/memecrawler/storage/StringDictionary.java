@@ -0,0 +1,209 @@
+package org.nexters.memecrawler.storage;
+
+import org.nexters.memecrawler.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// 크롤 전체가 함께 쓰는 문자열 사전. 같은 문자열은 한 번만 저장하고 이후에는 id로만 가리킨다.
+// 파일에는 새 문자열만 추가로 이어 쓰고, 열 때 처음부터 읽어 같은 id를 다시 매긴다.
+// 열면 모든 문자열을 힙에 올리고, 정리(compaction)는 하지 않는다. 덮어쓴 레코드만 참조하던 문자열도 남으므로
+// 파일과 힙 사용량은 지금까지 본 서로 다른 문자열 수에 비례해 계속 커진다. 너무 커지면 상세 저장소 디렉터리를
+// 지우고 replay로 보관된 응답에서 다시 만들면 현재 레코드가 참조하는 문자열만 남는다.
+//
+// 파일: magic(4) 다음 flush마다 블록 하나
+// 블록: rawLength(4) compressedLength(4) crc32(4) deflate(문자열마다 UTF-8 길이(varint) + 바이트)
+public class StringDictionary implements Closeable {
+    private static final int MAGIC = 0x53444354;
+    private static final int BLOCK_HEADER_BYTES = 12;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private String[] entries = new String[1024];
+    private int size;
+    private long fileSize;
+
+    public StringDictionary(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public synchronized int intern(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(pending, bytes.length);
+        pending.writeBytes(bytes);
+        return add(value);
+    }
+
+    // id → 문자열 배열. 복사하지 않으므로 돌려준 시점 이후에 추가된 id는 비어 있거나 범위 밖일 수 있다.
+    // 레코드를 읽은 뒤에 가져오면 그 레코드가 참조하는 id는 모두 들어 있다
+    public synchronized String[] snapshot() {
+        return entries;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // 새로 추가된 문자열을 파일에 쓴다. 이 id를 참조하는 레코드보다 먼저 불러야 한다
+    public synchronized void flush() throws IOException {
+        if (pending.size() == 0) {
+            return;
+        }
+        byte[] raw = pending.toByteArray();
+        byte[] compressed = deflate(raw);
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_HEADER_BYTES + compressed.length)
+            .putInt(raw.length)
+            .putInt(compressed.length)
+            .putInt((int) crc.getValue())
+            .put(compressed)
+            .flip();
+        while (buffer.hasRemaining()) {
+            fileSize += channel.write(buffer, fileSize);
+        }
+        pending.reset();
+    }
+
+    private int add(String value) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size] = value;
+        ids.putIfAbsent(value, size);
+        return size++;
+    }
+
+    private void load() throws IOException {
+        long length = channel.size();
+        if (length == 0) {
+            ByteBuffer header = ByteBuffer.allocate(4).putInt(MAGIC).flip();
+            while (header.hasRemaining()) {
+                fileSize += channel.write(header, fileSize);
+            }
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < 4 || buffer.getInt() != MAGIC) {
+            throw new IOException("문자열 사전 형식이 아닙니다: " + path);
+        }
+        int valid = buffer.position();
+        while (buffer.remaining() >= BLOCK_HEADER_BYTES) {
+            int rawLength = buffer.getInt();
+            int compressedLength = buffer.getInt();
+            int expectedCrc = buffer.getInt();
+            if (rawLength < 0 || compressedLength < 0 || compressedLength > buffer.remaining()) {
+                break;
+            }
+            ByteBuffer compressed = buffer.slice(buffer.position(), compressedLength);
+            CRC32 crc = new CRC32();
+            crc.update(compressed.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+            ByteBuffer block = ByteBuffer.wrap(inflate(compressed, rawLength));
+            while (block.hasRemaining()) {
+                byte[] bytes = new byte[readVarInt(block)];
+                block.get(bytes);
+                add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            buffer.position(buffer.position() + compressedLength);
+            valid = buffer.position();
+        }
+
+        if (valid < length) {
+            Log.warn("손상된 문자열 사전 꼬리 무시: %s (offset %d)", path.getFileName(), valid);
+            channel.truncate(valid);
+        }
+        fileSize = valid;
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static byte[] deflate(byte[] value) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(value);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, value.length / 2));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] inflate(ByteBuffer compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] value = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(value, read, rawLength - read);
+            }
+            return value;
+        } catch (DataFormatException e) {
+            throw new IOException("손상된 문자열 사전 블록: " + path.getFileName(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.force(false);
+        channel.close();
+    }
+}
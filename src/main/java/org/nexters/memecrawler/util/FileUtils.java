@@ -1,19 +1,29 @@
 package org.nexters.memecrawler.util;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.model.RawMemePage;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
-import java.util.Map;
 
 public class FileUtils {
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader recordReader = Json.MAPPER.readerFor(RawMemePage.class);
+    private static final ObjectReader recordListReader = Json.MAPPER.readerForListOf(RawMemePage.class);
+    private static final ObjectWriter recordWriter = Json.MAPPER.writerFor(RawMemePage.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final ObjectWriter prettyWriter = Json.MAPPER.writerWithDefaultPrettyPrinter();
 
     public static String sanitizeFileName(String fileName) {
         return fileName.replaceAll("[\\\\/:*?\"<>|]", "_")
@@ -30,12 +40,75 @@ public class FileUtils {
 
     public static void saveJsonToFile(Object data, String fileName) throws IOException {
         File file = new File(fileName);
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, data);
+        prettyWriter.writeValue(file, data);
     }
 
-    public static List<Map<String, Object>> loadJsonListFromFile(String fileName) throws IOException {
-        File file = new File(fileName);
-        return objectMapper.readValue(file, new TypeReference<List<Map<String, Object>>>() {});
+    public static List<RawMemePage> loadJsonListFromFile(String fileName) throws IOException {
+        return recordListReader.readValue(new File(fileName));
+    }
+
+    public static JsonLinesWriter<RawMemePage> openJsonLinesWriter(String fileName) throws IOException {
+        return new JsonLinesWriter<>(Paths.get(fileName), recordWriter, CrawlerConfig.JSONL_FLUSH_INTERVAL, false);
+    }
+
+    // 비정상 종료로 잘린 마지막 레코드는 읽을 때 전체를 깨뜨리므로 잘라낸 뒤 이어 쓴다
+    public static JsonLinesWriter<RawMemePage> appendJsonLinesWriter(String fileName) throws IOException {
+        Path file = Paths.get(fileName);
+        if (Files.exists(file) && !endsWithNewline(file)) {
+            truncateToLastLine(file);
+        }
+        return new JsonLinesWriter<>(Paths.get(fileName), recordWriter, CrawlerConfig.JSONL_FLUSH_INTERVAL, true);
+    }
+
+    // JSON Lines와 기존 JSON 배열 파일 모두 한 건씩 읽는다
+    public static MappingIterator<RawMemePage> readJsonRecords(String fileName) throws IOException {
+        return recordReader.readValues(new File(fileName));
+    }
+
+    public static String resolveRawDataFile() {
+        if (Files.exists(Paths.get(CrawlerConfig.RAW_DATA_FILE))) {
+            return CrawlerConfig.RAW_DATA_FILE;
+        }
+        return CrawlerConfig.LEGACY_RAW_DATA_FILE;
+    }
+
+    // 빈 파일은 true. 추가 기록 전에 중간에 끊긴 마지막 줄을 닫을지 판단할 때 쓴다
+    public static boolean endsWithNewline(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    // 마지막 '\n' 뒤의 끊긴 줄을 잘라낸다. 줄바꿈이 하나도 없으면 파일을 비운다
+    public static void truncateToLastLine(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            long end = channel.size();
+            while (end > 0) {
+                long start = Math.max(0, end - buffer.capacity());
+                buffer.clear().limit((int) (end - start));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                for (int i = buffer.position() - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        Log.warn("끊긴 마지막 줄 잘라냄: %s (offset %d)", file.getFileName(), start + i + 1);
+                        channel.truncate(start + i + 1);
+                        return;
+                    }
+                }
+                end = start;
+            }
+            Log.warn("끊긴 마지막 줄 잘라냄: %s (offset 0)", file.getFileName());
+            channel.truncate(0);
+        }
     }
 
     public static void saveTextToFile(String content, String fileName) throws IOException {
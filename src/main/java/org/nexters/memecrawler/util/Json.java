@@ -0,0 +1,15 @@
+package org.nexters.memecrawler.util;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// 프로젝트 전체가 공유하는 ObjectMapper. Blackbird가 레코드 접근자를 리플렉션 대신 LambdaMetafactory로 호출한다.
+// ObjectReader/ObjectWriter는 쓰는 쪽에서 타입별로 한 번만 만들어 재사용한다
+public class Json {
+    public static final ObjectMapper MAPPER = JsonMapper.builder()
+        .addModule(new BlackbirdModule())
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build();
+}
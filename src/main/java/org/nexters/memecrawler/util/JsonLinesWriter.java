@@ -0,0 +1,48 @@
+package org.nexters.memecrawler.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class JsonLinesWriter<T> implements Closeable {
+    private final JsonGenerator generator;
+    private final ObjectWriter objectWriter;
+    private final int flushInterval;
+    private int unflushedRecords = 0;
+
+    JsonLinesWriter(Path path, ObjectWriter objectWriter, int flushInterval, boolean append) throws IOException {
+        this.objectWriter = objectWriter;
+        this.flushInterval = flushInterval;
+        OutputStream out = append
+            ? Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+            : Files.newOutputStream(path);
+        this.generator = objectWriter.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    public synchronized void write(T record) throws IOException {
+        objectWriter.writeValue(generator, record);
+        generator.writeRaw('\n');
+
+        if (++unflushedRecords >= flushInterval) {
+            flush();
+        }
+    }
+
+    public synchronized void flush() throws IOException {
+        generator.flush();
+        unflushedRecords = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,38 @@
+package org.nexters.memecrawler.util;
+
+import org.nexters.memecrawler.config.CrawlerConfig;
+
+import java.util.Locale;
+
+public class Log {
+    public enum Level { QUIET, INFO, DEBUG }
+
+    private static final Level LEVEL = parseLevel(CrawlerConfig.LOG_LEVEL);
+
+    // 잘못된 값 때문에 첫 로그 호출에서 클래스 초기화가 깨지지 않도록 INFO로 돌아간다
+    private static Level parseLevel(String value) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.printf("알 수 없는 로그 레벨 '%s', INFO로 진행합니다 (QUIET, INFO, DEBUG 중 하나)%n", value);
+            return Level.INFO;
+        }
+    }
+
+    // 파일/페이지 단위 진행 로그. 공유 스트림 동기화 비용을 피하려고 DEBUG에서만 출력한다
+    public static void item(String format, Object... args) {
+        if (LEVEL == Level.DEBUG) {
+            System.out.printf(format + "%n", args);
+        }
+    }
+
+    public static void info(String format, Object... args) {
+        if (LEVEL != Level.QUIET) {
+            System.out.printf(format + "%n", args);
+        }
+    }
+
+    public static void warn(String format, Object... args) {
+        System.err.printf(format + "%n", args);
+    }
+}
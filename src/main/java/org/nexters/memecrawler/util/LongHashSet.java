@@ -0,0 +1,77 @@
+package org.nexters.memecrawler.util;
+
+// long 값을 박싱 없이 담는 open addressing(선형 탐사) 해시 집합. 0은 빈 슬롯 표시로 쓴다
+public class LongHashSet {
+    private static final long EMPTY = 0L;
+    private static final long ZERO_REPLACEMENT = 0x9e3779b97f4a7c15L;
+    private static final double MAX_LOAD_FACTOR = 0.5;
+
+    private long[] slots;
+    private int size;
+
+    public LongHashSet() {
+        this(1024);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD_FACTOR)) - 1) << 1;
+        slots = new long[capacity];
+    }
+
+    public boolean add(long value) {
+        long key = value == EMPTY ? ZERO_REPLACEMENT : value;
+        if (size + 1 > slots.length * MAX_LOAD_FACTOR) {
+            resize(slots.length << 1);
+        }
+
+        int mask = slots.length - 1;
+        int index = mix(key) & mask;
+        while (slots[index] != EMPTY) {
+            if (slots[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = key;
+        size++;
+        return true;
+    }
+
+    public boolean contains(long value) {
+        long key = value == EMPTY ? ZERO_REPLACEMENT : value;
+        int mask = slots.length - 1;
+        int index = mix(key) & mask;
+        while (slots[index] != EMPTY) {
+            if (slots[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void resize(int newCapacity) {
+        long[] old = slots;
+        slots = new long[newCapacity];
+        int mask = newCapacity - 1;
+        for (long key : old) {
+            if (key == EMPTY) {
+                continue;
+            }
+            int index = mix(key) & mask;
+            while (slots[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            slots[index] = key;
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
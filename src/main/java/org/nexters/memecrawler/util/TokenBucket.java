@@ -0,0 +1,83 @@
+package org.nexters.memecrawler.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+public class TokenBucket {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong nextFreeNanos;
+    private final AtomicLong rateBits;
+    private final double burst;
+
+    public TokenBucket(double permitsPerSecond, double burst) {
+        this.rateBits = new AtomicLong(Double.doubleToLongBits(permitsPerSecond));
+        this.burst = burst;
+        this.nextFreeNanos = new AtomicLong(System.nanoTime());
+    }
+
+    public void acquire(long permits) throws InterruptedException {
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public long reserve(long permits) {
+        while (true) {
+            long now = System.nanoTime();
+            long interval = intervalNanos();
+            long current = nextFreeNanos.get();
+            long start = Math.max(current, now - (long) (burst * interval));
+            long next = start + permits * interval;
+            if (nextFreeNanos.compareAndSet(current, next)) {
+                return Math.max(0, start - now);
+            }
+        }
+    }
+
+    // 기다리지 않고 바로 쓸 수 있을 때만 가져간다
+    public boolean tryAcquire(long permits) {
+        while (true) {
+            long now = System.nanoTime();
+            long interval = intervalNanos();
+            long current = nextFreeNanos.get();
+            long start = Math.max(current, now - (long) (burst * interval));
+            if (start > now) {
+                return false;
+            }
+            if (nextFreeNanos.compareAndSet(current, start + permits * interval)) {
+                return true;
+            }
+        }
+    }
+
+    // 가져간 몫을 돌려준다. 다른 버킷과 함께 가져가야 하는데 그쪽에서 실패했을 때 쓴다
+    public void refund(long permits) {
+        nextFreeNanos.addAndGet(-permits * intervalNanos());
+    }
+
+    public void pauseFor(long delayNanos) {
+        long resumeAt = System.nanoTime() + delayNanos;
+        nextFreeNanos.accumulateAndGet(resumeAt, Math::max);
+    }
+
+    public double getRate() {
+        return Double.longBitsToDouble(rateBits.get());
+    }
+
+    public double updateRate(DoubleUnaryOperator update) {
+        while (true) {
+            long currentBits = rateBits.get();
+            double updated = update.applyAsDouble(Double.longBitsToDouble(currentBits));
+            if (rateBits.compareAndSet(currentBits, Double.doubleToLongBits(updated))) {
+                return updated;
+            }
+        }
+    }
+
+    private long intervalNanos() {
+        return (long) (NANOS_PER_SECOND / getRate());
+    }
+}
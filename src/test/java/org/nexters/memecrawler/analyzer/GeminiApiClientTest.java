@@ -0,0 +1,207 @@
+package org.nexters.memecrawler.analyzer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.nexters.memecrawler.config.CrawlerConfig;
+import org.nexters.memecrawler.metrics.Metrics;
+import org.nexters.memecrawler.network.CircuitBreaker;
+import org.nexters.memecrawler.util.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 로컬 대역 서버로 Gemini 호출의 hedge, 마감 시간, 5xx 백오프, 서킷 개방과 반개방 복구를 본다.
+// 시간 설정은 build.gradle.kts의 test 작업이 짧게 줄여 넘기고, 서버 주소는 여기서 memecrawler.gemini.baseUrl로 정한다
+class GeminiApiClientTest {
+    private static final String ANALYSIS = "{\"title\":\"밈\",\"origin\":\"기원\",\"usageContext\":\"맥락\","
+        + "\"trendPeriod\":\"2021\",\"imgUrl\":null,\"hashtags\":[\"#밈\"]}";
+    private static final int MAX_IN_FLIGHT = 4;
+
+    private record Reply(int status, long delayMillis) {
+    }
+
+    private record Received(String body, long nanos) {
+    }
+
+    private static HttpServer server;
+    private static ExecutorService serverThreads;
+    private static final List<Received> received = new CopyOnWriteArrayList<>();
+    private static volatile Function<String, Reply> behavior = body -> new Reply(200, 0);
+
+    private Path cacheFile;
+    private AnalysisCache cache;
+    private GeminiApiClient client;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // 느린 응답을 흉내 내는 동안 다른 요청도 받아야 하므로 요청마다 스레드를 쓴다
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/", GeminiApiClientTest::handle);
+        server.start();
+        System.setProperty("memecrawler.gemini.baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+        System.clearProperty("memecrawler.gemini.baseUrl");
+    }
+
+    @BeforeEach
+    void openClient() throws IOException {
+        received.clear();
+        behavior = body -> new Reply(200, 0);
+        cacheFile = Files.createTempFile("gemini-cache", ".jsonl");
+        cache = new AnalysisCache(cacheFile.toString(), 100);
+        client = new GeminiApiClient(cache, MAX_IN_FLIGHT);
+    }
+
+    @AfterEach
+    void closeClient() throws Exception {
+        client.close();
+        cache.close();
+        Files.deleteIfExists(cacheFile);
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        received.add(new Received(body, System.nanoTime()));
+        Reply reply = behavior.apply(body);
+        try {
+            Thread.sleep(reply.delayMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String response = reply.status() == 200
+            ? "{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":[{\"text\":"
+                + Json.MAPPER.writeValueAsString(ANALYSIS) + "}]}}],"
+                + "\"usageMetadata\":{\"promptTokenCount\":10,\"candidatesTokenCount\":5}}"
+            : "{\"error\":{\"code\":" + reply.status() + ",\"message\":\"The model is overloaded. Please retry in 0.2s.\","
+                + "\"status\":\"UNAVAILABLE\"}}";
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(reply.status(), bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            // 클라이언트가 이미 포기하고 연결을 닫았다
+        }
+    }
+
+    // 요청 본문에 실린 밈 내용으로 요청을 구분한다
+    private static String marker(String name) {
+        return "[" + name + "]";
+    }
+
+    private static List<Long> requestNanos(String marker) {
+        return received.stream().filter(r -> r.body().contains(marker)).map(Received::nanos).toList();
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @Test
+    void hedgesSlowResponseAndGivesUpAtDeadline() throws Exception {
+        // hedge는 지연 표본이 충분히 쌓인 뒤에만 나간다
+        for (int i = 0; i < CrawlerConfig.GEMINI_HEDGE_MIN_SAMPLES * 3; i++) {
+            assertFalse(client.submit(marker("warmup-" + i)).get(10, TimeUnit.SECONDS).fallback());
+        }
+
+        // 첫 요청만 3초 늦고 같은 요청을 다시 보내면 바로 온다
+        String slow = marker("slow");
+        AtomicInteger slowCalls = new AtomicInteger();
+        behavior = body -> body.contains(slow) && slowCalls.getAndIncrement() == 0
+            ? new Reply(200, 3_000)
+            : new Reply(200, 0);
+        long hedges = Metrics.GEMINI_HEDGES.sum();
+        long hedgeWins = Metrics.GEMINI_HEDGE_WINS.sum();
+        long start = System.nanoTime();
+        AnalysisResult hedged = client.submit(slow).get(10, TimeUnit.SECONDS);
+        long hedgedMillis = millisSince(start);
+
+        assertFalse(hedged.fallback());
+        assertEquals(1, hedged.attempts());
+        assertEquals(2, requestNanos(slow).size(), "늦은 요청 하나에 hedge 하나가 나가야 한다");
+        assertEquals(hedges + 1, Metrics.GEMINI_HEDGES.sum());
+        assertEquals(hedgeWins + 1, Metrics.GEMINI_HEDGE_WINS.sum());
+        assertTrue(hedgedMillis < 1_000, "hedge 응답을 기다리지 않고 써야 한다: " + hedgedMillis + "ms");
+
+        // 응답이 오지 않으면 호출마다 시간 제한에 걸리고, 재시도를 모두 합쳐도 요청 마감 시간 안에 포기한다
+        String hanging = marker("hanging");
+        behavior = body -> body.contains(hanging) ? new Reply(200, 5_000) : new Reply(200, 0);
+        long timeouts = Metrics.GEMINI_TIMEOUTS.sum();
+        start = System.nanoTime();
+        AnalysisResult abandoned = client.submit(hanging).get(20, TimeUnit.SECONDS);
+        long abandonedMillis = millisSince(start);
+
+        assertTrue(abandoned.fallback());
+        assertTrue(Metrics.GEMINI_TIMEOUTS.sum() > timeouts);
+        assertTrue(abandonedMillis >= CrawlerConfig.GEMINI_CALL_TIMEOUT_MS,
+            "호출 시간 제한 전에 포기하면 안 된다: " + abandonedMillis + "ms");
+        assertTrue(abandonedMillis < CrawlerConfig.GEMINI_REQUEST_DEADLINE_MS + 1_000,
+            "요청 마감 시간을 넘겨 기다렸다: " + abandonedMillis + "ms");
+        assertEquals(CircuitBreaker.State.CLOSED, GeminiApiClient.circuitState());
+    }
+
+    @Test
+    void backsOffOnServerErrorsThenOpensAndRecoversThroughProbes() throws Exception {
+        assertEquals(CircuitBreaker.State.CLOSED, GeminiApiClient.circuitState());
+        behavior = body -> new Reply(503, 0);
+        long opens = Metrics.GEMINI_CIRCUIT_OPENS.sum();
+
+        int outages = 0;
+        while (GeminiApiClient.circuitState() == CircuitBreaker.State.CLOSED && outages < 20) {
+            assertTrue(client.submit(marker("outage-" + outages++)).get(30, TimeUnit.SECONDS).fallback());
+        }
+        assertNotEquals(CircuitBreaker.State.CLOSED, GeminiApiClient.circuitState());
+        assertTrue(Metrics.GEMINI_CIRCUIT_OPENS.sum() > opens);
+
+        // 서킷이 닫혀 있던 첫 요청은 재시도를 모두 쓰고, 서버가 알려 준 0.2초보다 일찍 다시 보내지 않는다
+        List<Long> firstOutage = requestNanos(marker("outage-0"));
+        assertEquals(CrawlerConfig.MAX_API_RETRIES, firstOutage.size());
+        for (int i = 1; i < firstOutage.size(); i++) {
+            long gapMillis = TimeUnit.NANOSECONDS.toMillis(firstOutage.get(i) - firstOutage.get(i - 1));
+            assertTrue(gapMillis >= 200, "재시도 간격이 Retry 힌트보다 짧다: " + gapMillis + "ms");
+        }
+
+        // 서버가 회복돼도 열린 동안에는 요청을 보내지 않고, 시험 호출 두 개가 성공하면 닫힌다
+        behavior = body -> new Reply(200, 0);
+        long lastFailure = received.get(received.size() - 1).nanos();
+        assertFalse(client.submit(marker("probe-1")).get(10, TimeUnit.SECONDS).fallback());
+        long firstProbe = requestNanos(marker("probe-1")).get(0);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(firstProbe - lastFailure) >= CrawlerConfig.GEMINI_CIRCUIT_OPEN_MS - 50,
+            "서킷이 열린 동안 요청이 나갔다");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, GeminiApiClient.circuitState());
+
+        assertFalse(client.submit(marker("probe-2")).get(10, TimeUnit.SECONDS).fallback());
+        assertEquals(CircuitBreaker.State.CLOSED, GeminiApiClient.circuitState());
+    }
+}
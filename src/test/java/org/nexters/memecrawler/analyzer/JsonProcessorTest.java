@@ -0,0 +1,60 @@
+package org.nexters.memecrawler.analyzer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonProcessorTest {
+
+    @Test
+    void skipsProseBracesAndBracesInsideStrings() {
+        String response = "설명 {중괄호} 뒤에 결과: {\"title\": \"a } b { c\", \"origin\": \"x \\\" }\"} 끝 }";
+        JsonNode node = JsonProcessor.parseJsonFromResponse(response);
+        assertEquals("a } b { c", node.get("title").asText());
+        assertEquals("x \" }", node.get("origin").asText());
+    }
+
+    @Test
+    void findsObjectAfterUnclosedBrace() {
+        JsonNode node = JsonProcessor.parseJsonFromResponse("{ 여는 괄호만 있는 설명 {\"title\": \"밈\"}");
+        assertEquals("밈", node.get("title").asText());
+    }
+
+    @Test
+    void returnsNullWithoutObject() {
+        assertNull(JsonProcessor.parseJsonFromResponse("JSON이 없는 응답 { 닫히지 않음"));
+    }
+
+    @Test
+    void keepsCompleteItemsOfTruncatedBatch() {
+        String response = "```json\n[{\"id\": \"0\", \"title\": \"a\"}, {\"id\": \"1\", \"title\": \"{b}\"}, {\"id\": \"2\", \"tit";
+        Map<String, JsonNode> parsed = JsonProcessor.parseBatchResponse(response, "id");
+        assertEquals(List.of("0", "1"), List.copyOf(parsed.keySet()));
+        assertEquals("{b}", parsed.get("1").get("title").asText());
+    }
+
+    @Test
+    void findsItemsInsideWrapperObject() {
+        String wrapped = "{\"results\": [{\"id\": \"0\"}, {\"id\": \"1\"}]}";
+        assertEquals(List.of("0", "1"), List.copyOf(JsonProcessor.parseBatchResponse(wrapped, "id").keySet()));
+
+        String truncatedWrapper = "{\"results\": [{\"id\": \"0\"}, {\"id\": \"1\"}, {\"id\"";
+        assertEquals(List.of("0", "1"), List.copyOf(JsonProcessor.parseBatchResponse(truncatedWrapper, "id").keySet()));
+    }
+
+    @Test
+    void scansLargeMalformedResponseInLinearTime() {
+        String response = "{".repeat(200_000) + "{\"title\": \"끝\"}";
+        long start = System.nanoTime();
+        JsonNode node = JsonProcessor.parseJsonFromResponse(response);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals("끝", node.get("title").asText());
+        assertTrue(elapsedMillis < 2_000, "괄호 20만 개를 훑는 데 " + elapsedMillis + "ms");
+    }
+}
@@ -0,0 +1,91 @@
+package org.nexters.memecrawler.network;
+
+import org.junit.jupiter.api.Test;
+import org.nexters.memecrawler.metrics.Counter;
+import org.nexters.memecrawler.metrics.MetricsRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 허가에 붙은 세대로 상태가 바뀐 뒤 도착한 결과를 무시하는지 본다
+class CircuitBreakerTest {
+    private static final long OPEN_MILLIS = 100;
+    private static final Counter OPENS = MetricsRegistry.global().counter(
+        "memecrawler_test_circuit_opens_total", "Circuit opens in CircuitBreakerTest");
+
+    // 창 4건 중 최소 2건, 실패율 50%에서 열리고 시험 호출 2개가 모두 성공해야 닫힌다
+    private static CircuitBreaker breaker() {
+        return new CircuitBreaker("test", 4, 2, 0.5, OPEN_MILLIS, 2, OPENS);
+    }
+
+    private static CircuitBreaker.Permit acquire(CircuitBreaker breaker) throws InterruptedException {
+        return breaker.acquire(TimeUnit.SECONDS.toNanos(5));
+    }
+
+    private static void open(CircuitBreaker breaker) throws InterruptedException {
+        breaker.onFailure(acquire(breaker));
+        breaker.onFailure(acquire(breaker));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void opensOnFailureRateAndRefusesUntilOpenTimeElapses() throws Exception {
+        CircuitBreaker breaker = breaker();
+        open(breaker);
+        assertNull(breaker.acquire(TimeUnit.MILLISECONDS.toNanos(10)), "열린 동안에는 허가가 없어야 한다");
+
+        CircuitBreaker.Permit probe = acquire(breaker);
+        assertTrue(probe.probe());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+    }
+
+    @Test
+    void ignoresOutcomesFromEarlierGenerations() throws Exception {
+        CircuitBreaker breaker = breaker();
+        CircuitBreaker.Permit beforeOpen = acquire(breaker);
+        open(breaker);
+
+        // 열리기 전에 나간 호출의 성공이 열린 상태를 바꾸면 안 된다
+        breaker.onSuccess(beforeOpen);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        CircuitBreaker.Permit first = acquire(breaker);
+        CircuitBreaker.Permit second = acquire(breaker);
+        breaker.onFailure(first);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        // 앞 시험 호출이 실패해 다시 열린 뒤 도착한 시험 호출 결과도 무시한다
+        breaker.onSuccess(second);
+        breaker.onCancelled(second);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void cancelledProbesFreeTheirSlotOnlyOnce() throws Exception {
+        CircuitBreaker breaker = breaker();
+        CircuitBreaker.Permit beforeOpen = acquire(breaker);
+        open(breaker);
+
+        CircuitBreaker.Permit first = acquire(breaker);
+        CircuitBreaker.Permit second = acquire(breaker);
+        assertTrue(first.probe() && second.probe());
+        assertNull(breaker.acquire(TimeUnit.MILLISECONDS.toNanos(10)), "시험 호출은 2개까지만 나간다");
+
+        // 예전 세대 허가의 취소가 시험 호출 자리 수를 음수로 만들어 시험 호출이 더 나가면 안 된다
+        breaker.onCancelled(beforeOpen);
+        assertNull(breaker.acquire(TimeUnit.MILLISECONDS.toNanos(10)));
+
+        breaker.onCancelled(first);
+        CircuitBreaker.Permit replacement = acquire(breaker);
+        assertNotNull(replacement);
+        breaker.onSuccess(second);
+        breaker.onSuccess(replacement);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertFalse(acquire(breaker).probe());
+    }
+}
@@ -0,0 +1,135 @@
+package org.nexters.memecrawler.network;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jsoup.HttpStatusException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.nexters.memecrawler.config.CrawlerConfig;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 로컬 대역 서버가 429/503과 Retry-After로 속도를 제한할 때 호스트별 요청 속도가 AIMD로 움직이는지 본다
+class FetchEngineThrottlingTest {
+    private static final double INITIAL_RATE = 4.0;
+    private static final String HOST = "127.0.0.1";
+    private static final String PAGE = "<html><head><title>ok</title></head><body>ok</body></html>";
+
+    private HttpServer server;
+    private final List<Long> requestNanos = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile List<Integer> statuses = List.of();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(HOST, 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    // 요청 순서대로 statuses의 상태 코드를 돌려주고, 목록이 끝나면 200을 준다
+    private void handle(HttpExchange exchange) throws IOException {
+        requestNanos.add(System.nanoTime());
+        int index = requestCount.getAndIncrement();
+        int status = index < statuses.size() ? statuses.get(index) : 200;
+        byte[] body = (status == 200 ? PAGE : "slow down").getBytes(StandardCharsets.UTF_8);
+        if (status != 200) {
+            exchange.getResponseHeaders().add("Retry-After", "1");
+        }
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String url() {
+        return "http://" + HOST + ":" + server.getAddress().getPort() + "/w/test";
+    }
+
+    @Test
+    void backsOffMultiplicativelyAndHonorsRetryAfter() throws Exception {
+        statuses = List.of(429, 503);
+        HostRateController rateController = new HostRateController(INITIAL_RATE, 0.2, 8.0);
+        try (FetchEngine engine = new FetchEngine(1, rateController, null)) {
+            FetchedPage page = engine.fetchPage(url()).get(30, TimeUnit.SECONDS);
+            assertEquals("ok", page.document().title());
+        }
+
+        assertEquals(3, requestCount.get(), "429, 503 뒤 세 번째 시도에서 성공해야 한다");
+        // 429와 503에서 한 번씩 곱으로 줄고, 성공 한 번에 더해진다
+        double expected = INITIAL_RATE * CrawlerConfig.RATE_DECREASE_FACTOR * CrawlerConfig.RATE_DECREASE_FACTOR
+            + CrawlerConfig.RATE_ADDITIVE_INCREASE;
+        assertEquals(expected, rateController.currentRate(HOST), 1e-9);
+
+        long afterTooMany = TimeUnit.NANOSECONDS.toMillis(requestNanos.get(1) - requestNanos.get(0));
+        long afterUnavailable = TimeUnit.NANOSECONDS.toMillis(requestNanos.get(2) - requestNanos.get(1));
+        assertTrue(afterTooMany >= 900, "Retry-After: 1 이후에 다시 보내야 한다: " + afterTooMany + "ms");
+        assertTrue(afterUnavailable >= 900, "Retry-After: 1 이후에 다시 보내야 한다: " + afterUnavailable + "ms");
+    }
+
+    @Test
+    void givesUpAfterMaxRetriesAndKeepsMinimumRate() throws Exception {
+        statuses = List.of(429, 429, 429, 429);
+        HostRateController rateController = new HostRateController(1.0, 0.5, 8.0);
+        try (FetchEngine engine = new FetchEngine(1, rateController, null)) {
+            Throwable error = engine.fetchPage(url()).handle((page, e) -> e).get(30, TimeUnit.SECONDS);
+            assertTrue(error != null && error.getCause() instanceof HttpStatusException,
+                "재시도를 다 쓰면 HTTP 오류로 끝나야 한다: " + error);
+        }
+        assertEquals(CrawlerConfig.MAX_FETCH_RETRIES, requestCount.get());
+        assertEquals(0.5, rateController.currentRate(HOST), 1e-9);
+    }
+
+    @Test
+    void recoversAdditivelyAfterBackoff() {
+        HostRateController rateController = new HostRateController(INITIAL_RATE, 0.2, 8.0);
+        long latency = TimeUnit.MILLISECONDS.toNanos(50);
+
+        rateController.onResponse(HOST, 429, latency, Optional.empty());
+        assertEquals(INITIAL_RATE * CrawlerConfig.RATE_DECREASE_FACTOR, rateController.currentRate(HOST), 1e-9);
+
+        for (int i = 1; i <= 10; i++) {
+            rateController.onResponse(HOST, 200, latency, Optional.empty());
+            double expected = INITIAL_RATE * CrawlerConfig.RATE_DECREASE_FACTOR + i * CrawlerConfig.RATE_ADDITIVE_INCREASE;
+            assertEquals(expected, rateController.currentRate(HOST), 1e-9);
+        }
+
+        // 상한을 넘지 않는다
+        for (int i = 0; i < 200; i++) {
+            rateController.onResponse(HOST, 200, latency, Optional.empty());
+        }
+        assertEquals(8.0, rateController.currentRate(HOST), 1e-9);
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndHttpDate() {
+        assertEquals(Optional.of(Duration.ofSeconds(3)), HostRateController.parseRetryAfter(" 3 "));
+
+        String inTenSeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(10));
+        Duration delay = HostRateController.parseRetryAfter(inTenSeconds).orElseThrow();
+        assertTrue(delay.toSeconds() >= 8 && delay.toSeconds() <= 10, "HTTP-date 형식: " + delay);
+
+        assertTrue(HostRateController.parseRetryAfter("soon").isEmpty());
+    }
+}